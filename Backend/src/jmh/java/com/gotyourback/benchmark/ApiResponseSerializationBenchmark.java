@@ -0,0 +1,72 @@
+package com.gotyourback.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gotyourback.dto.ApiResponse;
+import com.gotyourback.dto.ItemDto;
+import com.gotyourback.model.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@code ApiResponse<List<ItemDto>>}, the body of
+ * the item browse endpoints. The mapper is configured like the one Spring
+ * Boot builds for the web layer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<ItemDto>> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        List<ItemDto> dtos = new ArrayList<>(pageSize);
+        for (Item item : BenchmarkData.items(pageSize, BenchmarkData.users(200))) {
+            ItemDto dto = new ItemDto();
+            dto.setId(item.getId());
+            dto.setName(item.getName());
+            dto.setDescription(item.getDescription());
+            dto.setCategory(item.getCategory());
+            dto.setType(item.getType());
+            dto.setUrgency(item.getUrgency());
+            dto.setImageUrl(item.getImageUrl());
+            dto.setOwnerId(item.getOwner().getId());
+            dto.setOwnerName(item.getOwner().getName());
+            dto.setOwnerEmail(item.getOwner().getEmail());
+            dtos.add(dto);
+        }
+        response = ApiResponse.success("Items retrieved successfully", dtos);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
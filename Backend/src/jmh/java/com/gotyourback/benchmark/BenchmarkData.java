@@ -0,0 +1,131 @@
+package com.gotyourback.benchmark;
+
+import com.gotyourback.model.Item;
+import com.gotyourback.model.Item.ItemStatus;
+import com.gotyourback.model.Item.ItemType;
+import com.gotyourback.model.Notification;
+import com.gotyourback.model.Request;
+import com.gotyourback.model.Request.RequestStatus;
+import com.gotyourback.model.RequestState;
+import com.gotyourback.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic in-memory fixtures shaped like campus data, shared by the
+ * benchmarks so runs stay comparable release over release.
+ */
+public final class BenchmarkData {
+
+    public static final String[] CATEGORIES = {
+            "Books", "Electronics", "Lab Equipment", "Stationery", "Sports", "Furniture", "Clothing", "Other"
+    };
+
+    private static final String[] ADJECTIVES = {
+            "used", "new", "portable", "scientific", "wireless", "engineering", "vintage", "compact",
+            "advanced", "basic", "digital", "heavy", "spare", "mini", "graphing", "organic"
+    };
+
+    private static final String[] NOUNS = {
+            "calculator", "textbook", "laptop", "charger", "labcoat", "drafter", "headphones", "bicycle",
+            "notebook", "keyboard", "monitor", "racket", "kettle", "lamp", "mattress", "multimeter",
+            "arduino", "breadboard", "backpack", "umbrella", "guitar", "tripod", "projector", "router"
+    };
+
+    private static final String[] URGENCIES = {"LOW", "NORMAL", "HIGH"};
+
+    private static final long SEED = 42L;
+
+    private BenchmarkData() {
+    }
+
+    public static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setName("Student " + i);
+            user.setEmail("student" + i + "@srmist.edu.in");
+            user.setDepartment("CSE");
+            user.setYearOfStudy(1 + i % 4);
+            users.add(user);
+        }
+        return users;
+    }
+
+    public static List<Item> items(int count, List<User> owners) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            Item item = new Item();
+            item.setId((long) i);
+            item.setName(adjective + " " + noun);
+            item.setDescription("Lightly " + adjective + " " + noun + " available near hostel block "
+                    + (char) ('A' + random.nextInt(8)) + ", pick up after classes");
+            item.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            item.setType(random.nextBoolean() ? ItemType.LEND : ItemType.SELL);
+            item.setUrgency(URGENCIES[random.nextInt(URGENCIES.length)]);
+            item.setImageUrl("https://images.gotyourback.app/items/" + i + ".jpg");
+            // Roughly four out of five listings are still available
+            item.setStatus(random.nextInt(5) == 0 ? ItemStatus.SOLD : ItemStatus.AVAILABLE);
+            item.setCreatedAt(base.plusMinutes(i));
+            item.setOwner(owners.get(random.nextInt(owners.size())));
+            items.add(item);
+        }
+        return items;
+    }
+
+    public static List<Request> requests(int count, List<Item> items, List<User> requesters) {
+        SplittableRandom random = new SplittableRandom(SEED + 1);
+        LocalDateTime base = LocalDateTime.of(2025, 2, 1, 9, 0);
+        // Accepted requests are seeded after receipt and done ones fully returned
+        RequestState[] states = {RequestState.PENDING, RequestState.RECEIVED, RequestState.REJECTED, RequestState.COMPLETED};
+        List<Request> requests = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Request request = new Request();
+            request.setId((long) i);
+            request.setItem(items.get(random.nextInt(items.size())));
+            request.setRequester(requesters.get(random.nextInt(requesters.size())));
+            request.setState(states[random.nextInt(states.length)]);
+            request.setCreatedAt(base.plusMinutes(i));
+            if (request.getStatus() == RequestStatus.ACCEPTED || request.getStatus() == RequestStatus.DONE) {
+                request.setLentAt(base.plusMinutes(i + 30));
+                request.setReceivedAt(base.plusMinutes(i + 45));
+            }
+            if (request.getStatus() == RequestStatus.DONE) {
+                request.setCompletedAt(base.plusDays(7).plusMinutes(i));
+            }
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    public static List<Notification> notifications(int count, int recipients) {
+        SplittableRandom random = new SplittableRandom(SEED + 2);
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 9, 0);
+        Notification.NotificationType[] types = Notification.NotificationType.values();
+        List<Notification> notifications = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Notification notification = new Notification();
+            notification.setId((long) i);
+            notification.setRecipientId(1L + random.nextInt(recipients));
+            notification.setType(types[random.nextInt(types.length)]);
+            notification.setMessage("Your request for 'graphing calculator' has been accepted");
+            notification.setRelatedItemId(1L + random.nextInt(10_000));
+            notification.setRelatedRequestId(1L + random.nextInt(10_000));
+            notification.setIsRead(random.nextInt(3) == 0);
+            notification.setCreatedAt(base.plusSeconds(i));
+            if (notification.getIsRead()) {
+                notification.setReadAt(base.plusSeconds(i + 60));
+            }
+            notifications.add(notification);
+        }
+        return notifications;
+    }
+}
@@ -0,0 +1,91 @@
+package com.gotyourback.benchmark;
+
+import com.gotyourback.model.Item;
+import com.gotyourback.model.Item.ItemStatus;
+import com.gotyourback.model.Item.ItemType;
+import com.gotyourback.service.ItemSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Browse and keyword search at catalog sizes well past one campus. The
+ * {@code scan*} benchmarks apply the {@code searchItems} predicates and the
+ * old {@code like '%keyword%'} match to every item, as a baseline for the
+ * inverted index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ItemSearchBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int catalogSize;
+
+    private List<Item> items;
+    private ItemSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        items = BenchmarkData.items(catalogSize, BenchmarkData.users(5_000));
+        // Items are indexed directly; the repository is only used by rebuild()
+        index = new ItemSearchIndex(null);
+        items.forEach(index::index);
+    }
+
+    @Benchmark
+    public List<Long> indexKeyword() {
+        return index.search("calc", null, null, null);
+    }
+
+    @Benchmark
+    public List<Long> indexKeywordFiltered() {
+        return index.search("graphing calculator", "Electronics", ItemType.LEND, null);
+    }
+
+    @Benchmark
+    public List<Item> scanFilter() {
+        return scan(null, "Electronics", ItemType.LEND, "HIGH");
+    }
+
+    @Benchmark
+    public List<Item> scanKeyword() {
+        return scan("calc", null, null, null);
+    }
+
+    private List<Item> scan(String keyword, String category, ItemType type, String urgency) {
+        String needle = keyword != null ? keyword.toLowerCase(Locale.ROOT) : null;
+        List<Item> matches = new ArrayList<>();
+        for (Item item : items) {
+            if (item.getStatus() != ItemStatus.AVAILABLE
+                    || (category != null && !category.equals(item.getCategory()))
+                    || (type != null && type != item.getType())
+                    || (urgency != null && !urgency.equals(item.getUrgency()))) {
+                continue;
+            }
+            if (needle == null
+                    || item.getName().toLowerCase(Locale.ROOT).contains(needle)
+                    || item.getDescription().toLowerCase(Locale.ROOT).contains(needle)
+                    || item.getCategory().toLowerCase(Locale.ROOT).contains(needle)) {
+                matches.add(item);
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,148 @@
+package com.gotyourback.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.gotyourback.dto.ItemDto;
+import com.gotyourback.dto.NotificationDto;
+import com.gotyourback.dto.RequestDto;
+import com.gotyourback.model.Item;
+import com.gotyourback.model.Request;
+import com.gotyourback.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding cost of the list endpoint bodies with each serialization path:
+ * the plain web-layer mapper, a prebuilt ObjectWriter, Blackbird accessors,
+ * and CBOR with Blackbird. Encoded sizes are printed once per trial, so the
+ * time per list can be read together with the bytes on the wire.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListSerializationBenchmark {
+
+    @Param({"items", "requests", "notifications"})
+    private String payload;
+
+    @Param({"100"})
+    private int size;
+
+    private List<?> list;
+    private ObjectMapper reflectionMapper;
+    private ObjectWriter reflectionWriter;
+    private ObjectWriter blackbirdWriter;
+    private ObjectWriter cborWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        List<User> users = BenchmarkData.users(200);
+        List<Item> items = BenchmarkData.items(size, users);
+        list = switch (payload) {
+            case "items" -> itemDtos(items);
+            case "requests" -> requestDtos(BenchmarkData.requests(size, items, users));
+            case "notifications" -> BenchmarkData.notifications(size, 200).stream()
+                    .map(NotificationDto::fromEntity).toList();
+            default -> throw new IllegalArgumentException(payload);
+        };
+
+        // Same settings as the application mapper: ISO dates, modules found on the classpath
+        reflectionMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ObjectMapper blackbirdMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new BlackbirdModule())
+                .build();
+        ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(new CBORFactory())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new BlackbirdModule())
+                .build();
+
+        JavaType listType = reflectionMapper.getTypeFactory()
+                .constructCollectionType(List.class, list.get(0).getClass());
+        reflectionWriter = reflectionMapper.writerFor(listType);
+        blackbirdWriter = blackbirdMapper.writerFor(listType);
+        cborWriter = cborMapper.writerFor(listType);
+
+        System.out.printf("%n%s x%d encoded bytes: json=%d, cbor=%d%n", payload, size,
+                blackbirdWriter.writeValueAsBytes(list).length, cborWriter.writeValueAsBytes(list).length);
+    }
+
+    @Benchmark
+    public byte[] jsonMapper() throws Exception {
+        return reflectionMapper.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public byte[] jsonPrebuiltWriter() throws Exception {
+        return reflectionWriter.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public byte[] jsonBlackbird() throws Exception {
+        return blackbirdWriter.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public byte[] cborBlackbird() throws Exception {
+        return cborWriter.writeValueAsBytes(list);
+    }
+
+    private static List<ItemDto> itemDtos(List<Item> items) {
+        List<ItemDto> dtos = new ArrayList<>(items.size());
+        for (Item item : items) {
+            ItemDto dto = new ItemDto();
+            dto.setId(item.getId());
+            dto.setName(item.getName());
+            dto.setDescription(item.getDescription());
+            dto.setCategory(item.getCategory());
+            dto.setType(item.getType());
+            dto.setUrgency(item.getUrgency());
+            dto.setImageUrl(item.getImageUrl());
+            dto.setOwnerId(item.getOwner().getId());
+            dto.setOwnerName(item.getOwner().getName());
+            dto.setOwnerEmail(item.getOwner().getEmail());
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    private static List<RequestDto> requestDtos(List<Request> requests) {
+        List<RequestDto> dtos = new ArrayList<>(requests.size());
+        for (Request request : requests) {
+            Item item = request.getItem();
+            User requester = request.getRequester();
+            User owner = item.getOwner();
+            dtos.add(new RequestDto(request.getId(), item.getId(), requester.getId(), request.getState(),
+                    request.getCreatedAt(), requester.getName(), requester.getEmail(),
+                    owner.getId(), owner.getName(), owner.getEmail(),
+                    item.getName(), item.getCategory(), item.getType(), item.getUrgency(), item.getImageUrl(),
+                    request.getLentAt(), request.getReceivedAt(), request.getCompletedAt()));
+        }
+        return dtos;
+    }
+}
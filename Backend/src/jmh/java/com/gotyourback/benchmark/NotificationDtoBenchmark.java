@@ -0,0 +1,56 @@
+package com.gotyourback.benchmark;
+
+import com.gotyourback.dto.NotificationDto;
+import com.gotyourback.model.Notification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NotificationDto#fromEntity} over a notification page, the mapping
+ * behind the notification list and page endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NotificationDtoBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    private List<Notification> notifications;
+
+    @Setup
+    public void setUp() {
+        notifications = BenchmarkData.notifications(pageSize, 50);
+    }
+
+    @Benchmark
+    public NotificationDto convertOne() {
+        return NotificationDto.fromEntity(notifications.get(0));
+    }
+
+    @Benchmark
+    public List<NotificationDto> convertPage() {
+        List<NotificationDto> dtos = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            dtos.add(NotificationDto.fromEntity(notification));
+        }
+        return dtos;
+    }
+}
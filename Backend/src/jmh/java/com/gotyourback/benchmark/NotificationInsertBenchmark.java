@@ -0,0 +1,124 @@
+package com.gotyourback.benchmark;
+
+import com.gotyourback.dto.NotificationDraft;
+import com.gotyourback.model.Notification;
+import com.gotyourback.repository.NotificationBatchRepository;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a notification fan-out: one INSERT per row as an IDENTITY entity
+ * save does, a plain JDBC batch, and the multi-row INSERT of
+ * {@link NotificationBatchRepository}. The database is H2 behind its TCP
+ * server, so every statement pays a real socket round trip; over a network
+ * to MySQL the gap only grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NotificationInsertBenchmark {
+
+    private static final String INSERT_ONE = "INSERT INTO notifications (recipient_id, notification_type, message, " +
+            "related_item_id, related_request_id, related_message_id, is_read, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 0, ?)";
+
+    @Param({"10", "100"})
+    private int rows;
+
+    private Server server;
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private NotificationBatchRepository batchRepository;
+    private List<NotificationDraft> drafts;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        dataSource = new SingleConnectionDataSource("jdbc:h2:tcp://localhost:" + server.getPort()
+                + "/mem:notifications;MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE notifications (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "recipient_id BIGINT NOT NULL, notification_type VARCHAR(50) NOT NULL, message VARCHAR(500) NOT NULL, " +
+                "related_item_id BIGINT, related_request_id BIGINT, related_message_id BIGINT, " +
+                "is_read BOOLEAN NOT NULL, created_at TIMESTAMP NOT NULL, read_at TIMESTAMP)");
+        batchRepository = new NotificationBatchRepository(jdbcTemplate);
+
+        drafts = new ArrayList<>(rows);
+        for (Notification notification : BenchmarkData.notifications(rows, 50)) {
+            drafts.add(new NotificationDraft(notification.getRecipientId(), notification.getType(),
+                    notification.getMessage(), notification.getRelatedItemId(), notification.getRelatedRequestId(),
+                    null, notification.getCreatedAt()));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE TABLE notifications");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.destroy();
+        server.stop();
+    }
+
+    @Benchmark
+    public List<Long> insertPerRow() {
+        List<Long> ids = new ArrayList<>(rows);
+        for (NotificationDraft draft : drafts) {
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(INSERT_ONE, new String[]{"id"});
+                bind(statement, draft);
+                return statement;
+            }, keys);
+            ids.add(keys.getKey().longValue());
+        }
+        return ids;
+    }
+
+    @Benchmark
+    public int[][] insertJdbcBatch() {
+        return jdbcTemplate.batchUpdate(INSERT_ONE, drafts, drafts.size(), NotificationInsertBenchmark::bind);
+    }
+
+    @Benchmark
+    public List<Long> insertMultiRow() {
+        return batchRepository.insertAll(drafts);
+    }
+
+    private static void bind(PreparedStatement statement, NotificationDraft draft) throws SQLException {
+        statement.setLong(1, draft.getRecipientId());
+        statement.setString(2, draft.getType().name());
+        statement.setString(3, draft.getMessage());
+        statement.setLong(4, draft.getRelatedItemId());
+        statement.setLong(5, draft.getRelatedRequestId());
+        statement.setObject(6, draft.getRelatedMessageId());
+        statement.setTimestamp(7, Timestamp.valueOf(draft.getCreatedAt()));
+    }
+}
@@ -0,0 +1,64 @@
+package com.gotyourback.service;
+
+import com.gotyourback.benchmark.BenchmarkData;
+import com.gotyourback.dto.RequestDto;
+import com.gotyourback.model.Item;
+import com.gotyourback.model.Request;
+import com.gotyourback.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request to DTO mapping used by every request workflow response,
+ * including the nested item copy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestDtoBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    private RequestService requestService;
+    private List<Request> requests;
+
+    @Setup
+    public void setUp() {
+        // convertToDto only reads the entity, so the service needs no collaborators
+        requestService = new RequestService(null, null, null, null, null, null, null, null, null);
+        List<User> users = BenchmarkData.users(200);
+        List<Item> items = BenchmarkData.items(500, users);
+        requests = BenchmarkData.requests(pageSize, items, users);
+    }
+
+    @Benchmark
+    public RequestDto convertOne() {
+        return requestService.convertToDto(requests.get(0));
+    }
+
+    @Benchmark
+    public List<RequestDto> convertPage() {
+        List<RequestDto> dtos = new ArrayList<>(requests.size());
+        for (Request request : requests) {
+            dtos.add(requestService.convertToDto(request));
+        }
+        return dtos;
+    }
+}
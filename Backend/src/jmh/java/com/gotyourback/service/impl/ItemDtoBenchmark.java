@@ -0,0 +1,60 @@
+package com.gotyourback.service.impl;
+
+import com.gotyourback.benchmark.BenchmarkData;
+import com.gotyourback.dto.ItemDto;
+import com.gotyourback.model.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping for item listings, sized like one page of
+ * {@code /api/items/page} (20), the page cap (100) and an unpaged browse (1000).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemDtoBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    private ItemServiceImpl itemService;
+    private List<Item> items;
+
+    @Setup
+    public void setUp() {
+        // convertToDto only reads the entity, so the service needs no collaborators
+        itemService = new ItemServiceImpl(null, null, null, null, null, null, null);
+        items = BenchmarkData.items(pageSize, BenchmarkData.users(200));
+    }
+
+    @Benchmark
+    public ItemDto convertOne() {
+        return itemService.convertToDto(items.get(0));
+    }
+
+    @Benchmark
+    public List<ItemDto> convertPage() {
+        List<ItemDto> dtos = new ArrayList<>(items.size());
+        for (Item item : items) {
+            dtos.add(itemService.convertToDto(item));
+        }
+        return dtos;
+    }
+}
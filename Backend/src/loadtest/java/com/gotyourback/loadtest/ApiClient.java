@@ -0,0 +1,108 @@
+package com.gotyourback.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Thin HTTP client for the REST API. Every call is timed under a route
+ * label such as {@code GET /api/items/{id}}, and non-2xx responses abort
+ * the current scenario iteration. {@link #withToken} gives a client that
+ * sends a user's bearer token on the same connections.
+ */
+final class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+    private final String token;
+
+    ApiClient(String baseUrl, LatencyRecorder recorder) {
+        this(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build(), new ObjectMapper(), baseUrl, recorder, null);
+    }
+
+    private ApiClient(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, LatencyRecorder recorder,
+                      String token) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+        this.token = token;
+    }
+
+    ApiClient withToken(String token) {
+        return new ApiClient(httpClient, objectMapper, baseUrl, recorder, token);
+    }
+
+    JsonNode get(String route, String path) {
+        return send(route, request(path).GET());
+    }
+
+    JsonNode put(String route, String path) {
+        return send(route, request(path).PUT(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    JsonNode postJson(String route, String path, Object body) {
+        try {
+            return send(route, request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body))));
+        } catch (IOException e) {
+            throw new ScenarioFailure(route + ": could not encode request body", e);
+        }
+    }
+
+    JsonNode postText(String route, String path, String body) {
+        return send(route, request(path)
+                .header("Content-Type", "text/plain")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+        return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+    }
+
+    private JsonNode send(String route, HttpRequest.Builder builder) {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            recorder.record(route, System.nanoTime() - start, false);
+            throw new ScenarioFailure(route + ": " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScenarioFailure(route + ": interrupted", e);
+        }
+        boolean success = response.statusCode() / 100 == 2;
+        recorder.record(route, System.nanoTime() - start, success);
+        if (!success) {
+            throw new ScenarioFailure(route + " returned " + response.statusCode() + ": "
+                    + new String(response.body()), null);
+        }
+        try {
+            return response.body().length == 0 ? null : objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new ScenarioFailure(route + ": response is not JSON", e);
+        }
+    }
+
+    static final class ScenarioFailure extends RuntimeException {
+        ScenarioFailure(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
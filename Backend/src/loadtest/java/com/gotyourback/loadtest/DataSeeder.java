@@ -0,0 +1,229 @@
+package com.gotyourback.loadtest;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Bulk-loads a campus-sized data set with plain JDBC batches before the
+ * application starts. Rows are inserted without explicit ids into an empty
+ * schema, so the n-th row of every table gets id n.
+ */
+final class DataSeeder {
+
+    static final String PASSWORD = "password123";
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final String[] CATEGORIES = {"BOOKS", "ELECTRONICS", "LAB_EQUIPMENT", "NOTES", "CLOTHES", "OTHERS"};
+    private static final String[] URGENCIES = {"LOW", "MEDIUM", "HIGH"};
+    private static final String[] ADJECTIVES = {
+            "used", "new", "portable", "scientific", "wireless", "engineering", "vintage", "compact", "graphing"
+    };
+    private static final String[] NOUNS = {
+            "calculator", "textbook", "laptop", "charger", "labcoat", "drafter", "headphones", "bicycle",
+            "notebook", "keyboard", "monitor", "multimeter", "arduino", "backpack", "tripod", "router"
+    };
+    private static final String[] NOTIFICATION_TYPES = {
+            "REQUEST_CREATED", "REQUEST_ACCEPTED", "REQUEST_REJECTED", "REQUEST_COMPLETED", "MESSAGE_RECEIVED"
+    };
+
+    private final LoadTestConfig config;
+    private final SplittableRandom random = new SplittableRandom(7L);
+    private final LocalDateTime base = LocalDateTime.now().minusDays(120);
+
+    // itemOwners[i] / requestParties[i] hold the owner and requester for the row with id i + 1
+    private long[] itemOwners;
+    private long[][] requestParties;
+
+    DataSeeder(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    void seed(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        seedUsers(connection);
+        seedItems(connection);
+        seedRequests(connection);
+        seedMessages(connection);
+        seedConversationSummaries(connection);
+        seedUserStats(connection);
+        seedNotifications(connection);
+        connection.commit();
+    }
+
+    private void seedUsers(Connection connection) throws SQLException {
+        String sql = "INSERT INTO users (name, email, password, department, registration_number, year_of_study) " +
+                "VALUES (?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= config.seedUsers(); i++) {
+                insert.setString(1, "Seed Student " + i);
+                insert.setString(2, "seed" + i + "@srmist.edu.in");
+                insert.setString(3, PASSWORD);
+                insert.setString(4, "Computer Science");
+                insert.setString(5, String.format("RA%013d", i));
+                insert.setInt(6, 1 + i % 4);
+                addBatch(insert, i);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private void seedItems(Connection connection) throws SQLException {
+        String sql = "INSERT INTO items (owner_id, name, description, category, type, urgency, image_url, status, " +
+                "created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        itemOwners = new long[config.seedItems()];
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= config.seedItems(); i++) {
+                long owner = randomUser();
+                itemOwners[i - 1] = owner;
+                String name = pick(ADJECTIVES) + " " + pick(NOUNS);
+                insert.setLong(1, owner);
+                insert.setString(2, name);
+                insert.setString(3, "Lightly used " + name + ", pick up near the library after classes");
+                insert.setString(4, pick(CATEGORIES));
+                insert.setString(5, random.nextBoolean() ? "LEND" : "SELL");
+                insert.setString(6, pick(URGENCIES));
+                insert.setString(7, "https://images.gotyourback.app/items/" + i + ".jpg");
+                insert.setString(8, random.nextInt(5) == 0 ? "SOLD" : "AVAILABLE");
+                insert.setTimestamp(9, Timestamp.valueOf(base.plusMinutes(i)));
+                addBatch(insert, i);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private void seedRequests(Connection connection) throws SQLException {
+        String sql = "INSERT INTO requests (item_id, requester_id, state, created_at, completed_at, lent_at, " +
+                "received_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        // Accepted requests are seeded after receipt and done ones fully returned
+        String[] states = {"PENDING", "RECEIVED", "REJECTED", "COMPLETED"};
+        requestParties = new long[config.seedRequests()][];
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= config.seedRequests(); i++) {
+                long item = 1 + random.nextInt(config.seedItems());
+                long owner = itemOwners[(int) item - 1];
+                long requester = randomUser();
+                if (requester == owner) {
+                    requester = requester % config.seedUsers() + 1;
+                }
+                requestParties[i - 1] = new long[]{requester, owner};
+
+                String state = states[random.nextInt(states.length)];
+                boolean handedOver = state.equals("RECEIVED") || state.equals("COMPLETED");
+                boolean done = state.equals("COMPLETED");
+                LocalDateTime createdAt = base.plusMinutes(i);
+                insert.setLong(1, item);
+                insert.setLong(2, requester);
+                insert.setString(3, state);
+                insert.setTimestamp(4, Timestamp.valueOf(createdAt));
+                setTimestamp(insert, 5, done ? createdAt.plusDays(7) : null);
+                setTimestamp(insert, 6, handedOver ? createdAt.plusHours(1) : null);
+                setTimestamp(insert, 7, handedOver ? createdAt.plusHours(2) : null);
+                addBatch(insert, i);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private void seedMessages(Connection connection) throws SQLException {
+        String sql = "INSERT INTO messages (request_id, sender_id, receiver_id, content, sent_at) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= config.seedMessages(); i++) {
+                int request = random.nextInt(config.seedRequests());
+                long[] parties = requestParties[request];
+                boolean fromRequester = random.nextBoolean();
+                insert.setLong(1, request + 1);
+                insert.setLong(2, fromRequester ? parties[0] : parties[1]);
+                insert.setLong(3, fromRequester ? parties[1] : parties[0]);
+                insert.setString(4, "Can we meet at the main block canteen at 4pm? (" + i + ")");
+                insert.setTimestamp(5, Timestamp.valueOf(base.plusSeconds(i * 30L)));
+                addBatch(insert, i);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    // Inbox rows for the seeded messages: the last message of each conversation, once per participant
+    private void seedConversationSummaries(Connection connection) throws SQLException {
+        String last = "SELECT m.* FROM messages m JOIN (SELECT request_id, MAX(id) AS id FROM messages " +
+                "GROUP BY request_id) l ON l.id = m.id";
+        String sql = "INSERT INTO conversation_summary (request_id, user_id, counterpart_id, last_message_id, " +
+                "last_sender_id, last_message, last_sent_at, unread_count) " +
+                "SELECT request_id, receiver_id, sender_id, id, sender_id, content, sent_at, 1 FROM (" + last + ") r " +
+                "UNION ALL " +
+                "SELECT request_id, sender_id, receiver_id, id, sender_id, content, sent_at, 0 FROM (" + last + ") s";
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql);
+        }
+    }
+
+    // Profile counters derived from the seeded items and requests, as the services would have kept them
+    private void seedUserStats(Connection connection) throws SQLException {
+        String sql = "INSERT INTO user_stats (user_id, total_listings, active_requests, completed_deals, " +
+                "items_lent, items_sold) SELECT u.id, " +
+                "(SELECT COUNT(*) FROM items i WHERE i.owner_id = u.id), " +
+                "(SELECT COUNT(*) FROM requests r WHERE r.requester_id = u.id " +
+                "AND r.state IN ('PENDING', 'ACCEPTED', 'LENT', 'RECEIVED')), " +
+                "(SELECT COUNT(*) FROM requests r WHERE r.requester_id = u.id " +
+                "AND r.state IN ('DONE', 'BORROWER_RETURNED', 'LENDER_RETURNED', 'COMPLETED', 'SOLD')), " +
+                "(SELECT COUNT(*) FROM requests r JOIN items i ON i.id = r.item_id " +
+                "WHERE i.owner_id = u.id AND i.type = 'LEND' AND r.lent_at IS NOT NULL), " +
+                "(SELECT COUNT(*) FROM requests r JOIN items i ON i.id = r.item_id " +
+                "WHERE i.owner_id = u.id AND i.type = 'SELL' AND r.state IN ('SOLD', 'COMPLETED')) " +
+                "FROM users u";
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql);
+        }
+    }
+
+    private void seedNotifications(Connection connection) throws SQLException {
+        String sql = "INSERT INTO notifications (recipient_id, notification_type, message, related_item_id, " +
+                "related_request_id, is_read, created_at, read_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= config.seedNotifications(); i++) {
+                int request = random.nextInt(config.seedRequests());
+                boolean read = random.nextInt(3) > 0;
+                LocalDateTime createdAt = base.plusSeconds(i * 20L);
+                insert.setLong(1, requestParties[request][random.nextInt(2)]);
+                insert.setString(2, pick(NOTIFICATION_TYPES));
+                insert.setString(3, "Your request has an update");
+                insert.setNull(4, Types.BIGINT);
+                insert.setLong(5, request + 1);
+                insert.setBoolean(6, read);
+                insert.setTimestamp(7, Timestamp.valueOf(createdAt));
+                setTimestamp(insert, 8, read ? createdAt.plusMinutes(5) : null);
+                addBatch(insert, i);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static void addBatch(PreparedStatement insert, int row) throws SQLException {
+        insert.addBatch();
+        if (row % BATCH_SIZE == 0) {
+            insert.executeBatch();
+        }
+    }
+
+    private static void setTimestamp(PreparedStatement insert, int index, LocalDateTime value) throws SQLException {
+        if (value != null) {
+            insert.setTimestamp(index, Timestamp.valueOf(value));
+        } else {
+            insert.setNull(index, Types.TIMESTAMP);
+        }
+    }
+
+    private long randomUser() {
+        return 1 + random.nextInt(config.seedUsers());
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
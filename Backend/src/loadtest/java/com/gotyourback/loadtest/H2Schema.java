@@ -0,0 +1,74 @@
+package com.gotyourback.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Creates the production schema from db/DB_SETUP.sql on an H2 database
+ * running in MySQL mode, so load tests exercise the same tables and indexes
+ * as a real deployment without keeping a second copy of the DDL.
+ */
+final class H2Schema {
+
+    private static final String SCRIPT = "db/DB_SETUP.sql";
+
+    private static final Pattern TABLE_NAME = Pattern.compile("CREATE TABLE (\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern INDEX_NAME = Pattern.compile("INDEX (idx_\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private H2Schema() {
+    }
+
+    static void create(Connection connection) throws IOException, SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String ddl : createTableStatements()) {
+                statement.execute(ddl);
+            }
+        }
+    }
+
+    // Keeps only the CREATE TABLE statements; the DROP/CREATE DATABASE and reporting queries are MySQL-only
+    static List<String> createTableStatements() throws IOException {
+        List<String> statements = new ArrayList<>();
+        for (String statement : stripComments(readScript()).split(";")) {
+            String ddl = statement.trim();
+            if (!ddl.toUpperCase(Locale.ROOT).startsWith("CREATE TABLE")) {
+                continue;
+            }
+            Matcher table = TABLE_NAME.matcher(ddl);
+            if (!table.find()) {
+                continue;
+            }
+            // H2 index names are unique per schema rather than per table
+            statements.add(INDEX_NAME.matcher(ddl).replaceAll("INDEX " + table.group(1) + "_$1"));
+        }
+        return statements;
+    }
+
+    private static String readScript() throws IOException {
+        try (InputStream in = H2Schema.class.getClassLoader().getResourceAsStream(SCRIPT)) {
+            if (in == null) {
+                throw new IOException(SCRIPT + " not found on the classpath");
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String stripComments(String script) {
+        StringBuilder sql = new StringBuilder(script.length());
+        for (String line : script.split("\\R")) {
+            if (!line.trim().startsWith("--")) {
+                sql.append(line).append('\n');
+            }
+        }
+        return sql.toString();
+    }
+}
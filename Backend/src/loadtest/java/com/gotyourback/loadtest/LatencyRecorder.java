@@ -0,0 +1,79 @@
+package com.gotyourback.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects per-endpoint latencies from all load test workers and prints
+ * p50/p99 latency and throughput for each endpoint.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean success) {
+        endpoints.computeIfAbsent(endpoint, e -> new EndpointStats()).add(nanos, success);
+    }
+
+    void report(Duration elapsed, PrintStream out) {
+        double seconds = Math.max(elapsed.toNanos(), 1) / 1e9;
+        String format = "%-52s %8s %7s %9s %9s %9s %9s%n";
+        out.printf(format, "Endpoint", "Requests", "Errors", "p50 ms", "p99 ms", "Max ms", "Req/s");
+
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(endpoints).entrySet()) {
+            long[] latencies = entry.getValue().snapshot();
+            Arrays.sort(latencies);
+            long errors = entry.getValue().errors();
+            totalRequests += latencies.length;
+            totalErrors += errors;
+            out.printf(format, entry.getKey(), latencies.length, errors,
+                    millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)),
+                    millis(latencies.length > 0 ? latencies[latencies.length - 1] : 0),
+                    String.format("%.1f", latencies.length / seconds));
+        }
+        out.printf("%nTotal: %d requests, %d errors in %.1f s (%.1f req/s)%n",
+                totalRequests, totalErrors, seconds, totalRequests / seconds);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1e6);
+    }
+
+    private static final class EndpointStats {
+        private long[] latencies = new long[256];
+        private int count;
+        private long errors;
+
+        synchronized void add(long nanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized long[] snapshot() {
+            return Arrays.copyOf(latencies, count);
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.gotyourback.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One pass through the lending workflow as the frontend drives it: two new
+ * students sign up and log in, one lists an item, the other finds it,
+ * requests it and the pair take it through accept, lend, receipt, chat and
+ * return while both poll their notifications. The two students send the
+ * bearer token from their login. Each pass also browses as an existing
+ * seeded user, logged in once per user, so reads run against the full data
+ * volume.
+ */
+final class LendingScenario {
+
+    private static final String[] KEYWORDS = {"calculator", "textbook", "laptop", "graphing", "arduino", "lab"};
+
+    private final ApiClient api;
+    private final String runId;
+    private final int seedUsers;
+    private final Map<Long, ApiClient> seededSessions = new ConcurrentHashMap<>();
+
+    LendingScenario(ApiClient api, String runId, int seedUsers) {
+        this.api = api;
+        this.runId = runId;
+        this.seedUsers = seedUsers;
+    }
+
+    void run(int worker, int iteration, SplittableRandom random) {
+        String prefix = runId + "-w" + worker + "-i" + iteration;
+        Session ownerSession = signupAndLogin(prefix + "-owner");
+        Session borrowerSession = signupAndLogin(prefix + "-borrower");
+        long ownerId = ownerSession.userId();
+        long borrowerId = borrowerSession.userId();
+        ApiClient owner = ownerSession.api();
+        ApiClient borrower = borrowerSession.api();
+
+        long itemId = owner.postJson("POST /api/items", "/api/items", Map.of(
+                "name", "Scientific calculator " + prefix,
+                "description", "Casio fx-991EX, works perfectly, needed back before end-semester exams",
+                "category", "ELECTRONICS",
+                "type", "LEND",
+                "urgency", "MEDIUM",
+                "ownerId", ownerId)).get("id").asLong();
+
+        borrower.get("GET /api/items/page", "/api/items/page?limit=20");
+        borrower.get("GET /api/items/page?keyword=",
+                "/api/items/page?limit=20&keyword=" + KEYWORDS[random.nextInt(KEYWORDS.length)]);
+        borrower.get("GET /api/items/{id}", "/api/items/" + itemId);
+
+        long requestId = borrower.postJson("POST /api/requests", "/api/requests", Map.of(
+                "itemId", itemId,
+                "requesterId", borrowerId)).get("id").asLong();
+        pollNotifications(owner, ownerId);
+        owner.get("GET /api/requests/received/{userId}", "/api/requests/received/" + ownerId);
+
+        String request = "/api/requests/" + requestId;
+        owner.put("PUT /api/requests/{id}/status", request + "/status?status=ACCEPTED");
+        pollNotifications(borrower, borrowerId);
+        owner.put("PUT /api/requests/{id}/mark-as-lent", request + "/mark-as-lent");
+        borrower.put("PUT /api/requests/{id}/confirm-receipt", request + "/confirm-receipt");
+
+        borrower.postText("POST /api/messages/send/{requestId}", "/api/messages/send/" + requestId,
+                "Thanks! I'll return it after the exam on Friday.");
+        owner.get("GET /api/messages/request/{requestId}/page", "/api/messages/request/" + requestId + "/page?limit=50");
+        pollNotifications(owner, ownerId);
+
+        owner.put("PUT /api/requests/{id}/done", request + "/done");
+        borrower.put("PUT /api/requests/{id}/confirm-return", request + "/confirm-return");
+        owner.put("PUT /api/requests/{id}/confirm-return", request + "/confirm-return");
+        pollNotifications(borrower, borrowerId);
+
+        browseAsSeededUser(1 + random.nextInt(seedUsers));
+    }
+
+    private Session signupAndLogin(String name) {
+        String email = name + "@srmist.edu.in";
+        api.postJson("POST /api/auth/signup", "/api/auth/signup", Map.of(
+                "name", name,
+                "email", email,
+                "password", DataSeeder.PASSWORD));
+        return login(email);
+    }
+
+    private Session login(String email) {
+        JsonNode login = api.postJson("POST /api/auth/login", "/api/auth/login", Map.of(
+                "email", email,
+                "password", DataSeeder.PASSWORD));
+        JsonNode session = login.get("data");
+        return new Session(session.get("id").asLong(), api.withToken(session.get("token").asText()));
+    }
+
+    private static void pollNotifications(ApiClient api, long userId) {
+        api.get("GET /api/notifications/user/{userId}/unread-count",
+                "/api/notifications/user/" + userId + "/unread-count");
+        api.get("GET /api/notifications/user/{userId}/page",
+                "/api/notifications/user/" + userId + "/page?limit=20");
+    }
+
+    private void browseAsSeededUser(long userId) {
+        ApiClient api = seededSessions.get(userId);
+        if (api == null) {
+            // Two workers may both log in the first time; either token works
+            api = login("seed" + userId + "@srmist.edu.in").api();
+            seededSessions.putIfAbsent(userId, api);
+        }
+        pollNotifications(api, userId);
+        api.get("GET /api/dashboard/users/{userId}/summary", "/api/dashboard/users/" + userId + "/summary");
+        api.get("GET /api/requests/user/{userId}/accepted", "/api/requests/user/" + userId + "/accepted");
+        api.get("GET /api/messages/user/{userId}/inbox", "/api/messages/user/" + userId + "/inbox");
+    }
+
+    private record Session(long userId, ApiClient api) {
+    }
+}
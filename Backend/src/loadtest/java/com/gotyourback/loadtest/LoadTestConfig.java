@@ -0,0 +1,32 @@
+package com.gotyourback.loadtest;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties.
+ */
+record LoadTestConfig(int seedUsers, int seedItems, int seedRequests, int seedMessages, int seedNotifications,
+                      int concurrency, int warmupIterations, int iterations) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                intProperty("loadtest.seed.users", 2_000),
+                intProperty("loadtest.seed.items", 20_000),
+                intProperty("loadtest.seed.requests", 20_000),
+                intProperty("loadtest.seed.messages", 50_000),
+                intProperty("loadtest.seed.notifications", 100_000),
+                intProperty("loadtest.concurrency", 32),
+                intProperty("loadtest.warmup-iterations", 3),
+                intProperty("loadtest.iterations", 20));
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        int parsed = Integer.parseInt(value.trim());
+        if (parsed < 1) {
+            throw new IllegalArgumentException(name + " must be at least 1");
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,120 @@
+package com.gotyourback.loadtest;
+
+import com.gotyourback.GotYourBackApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Self-contained end-to-end load test. Creates the schema on an in-memory
+ * H2 database in MySQL mode, seeds it, boots the application on a random
+ * port and drives {@link LendingScenario} from concurrent workers, then
+ * prints latency percentiles and throughput per endpoint.
+ *
+ * Run with {@code mvn -Ploadtest compile exec:exec}.
+ */
+public final class LoadTestRunner {
+
+    private static final String JDBC_URL =
+            "jdbc:h2:mem:gotyourback;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        System.out.println("Load test settings: " + config);
+
+        long seedStart = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(JDBC_URL, "sa", "")) {
+            H2Schema.create(connection);
+            new DataSeeder(config).seed(connection);
+        }
+        System.out.printf("Seeded database in %.1f s%n", (System.nanoTime() - seedStart) / 1e9);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(GotYourBackApplication.class)
+                .run(applicationArguments(args));
+        int exitCode = 0;
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            // Warm-up numbers are thrown away so JIT compilation and pool start-up don't skew the results
+            runPhase(new LendingScenario(new ApiClient(baseUrl, new LatencyRecorder()), "warmup", config.seedUsers()),
+                    config.concurrency(), config.warmupIterations());
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            LendingScenario scenario = new LendingScenario(new ApiClient(baseUrl, recorder), "load", config.seedUsers());
+            long start = System.nanoTime();
+            int failures = runPhase(scenario, config.concurrency(), config.iterations());
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            System.out.printf("%n%d workers x %d scenario iterations, %d failed%n%n",
+                    config.concurrency(), config.iterations(), failures);
+            recorder.report(elapsed, System.out);
+            exitCode = failures == 0 ? 0 : 1;
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    // Passed as command-line arguments so they take precedence over application.yml
+    private static String[] applicationArguments(String[] args) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", JDBC_URL);
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+
+        List<String> arguments = new ArrayList<>();
+        properties.forEach((name, value) -> arguments.add("--" + name + "=" + value));
+        arguments.addAll(List.of(args));
+        return arguments.toArray(String[]::new);
+    }
+
+    // Runs the scenario on every worker and returns the number of iterations that failed
+    private static int runPhase(LendingScenario scenario, int concurrency, int iterations) throws Exception {
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>(concurrency);
+            for (int w = 0; w < concurrency; w++) {
+                int worker = w;
+                futures.add(workers.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(worker);
+                    for (int i = 0; i < iterations; i++) {
+                        try {
+                            scenario.run(worker, i, random);
+                        } catch (ApiClient.ScenarioFailure e) {
+                            if (failures.incrementAndGet() <= 10) {
+                                System.err.println("Scenario failed: " + e.getMessage());
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdown();
+        }
+        return failures.get();
+    }
+}
@@ -3,9 +3,11 @@ package com.gotyourback;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaRepositories
+@EnableScheduling
 public class GotYourBackApplication {
     public static void main(String[] args) {
         SpringApplication.run(GotYourBackApplication.class, args);
@@ -0,0 +1,33 @@
+package com.gotyourback.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Response caches used through Spring's cache annotations. Entity caching for
+ * User and Item lives in the Hibernate second-level cache (see ehcache.xml).
+ *
+ * Evictions and puts made inside a transaction are applied after it commits.
+ * Otherwise a read between the eviction and the commit could cache the
+ * pre-commit DTO again.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ITEM_DTOS = "itemDtos";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${gotyourback.cache.item-dtos}") String itemDtoSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(ITEM_DTOS);
+        cacheManager.setCaffeine(Caffeine.from(itemDtoSpec).recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -1,7 +1,9 @@
 package com.gotyourback.config;
 
 import com.gotyourback.dto.ApiResponse;
+import com.gotyourback.exception.AuthenticationRequiredException;
 import com.gotyourback.exception.NotificationNotFoundException;
+import com.gotyourback.exception.StateTransitionConflictException;
 import com.gotyourback.exception.UnauthorizedAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -29,9 +31,21 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                 .body(new ApiResponse<>(false, ex.getMessage(), null));
     }
     
+    @ExceptionHandler(AuthenticationRequiredException.class)
+    public ResponseEntity<ApiResponse<?>> handleAuthenticationRequiredException(AuthenticationRequiredException ex) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ApiResponse<>(false, ex.getMessage(), null));
+    }
+
     @ExceptionHandler(UnauthorizedAccessException.class)
     public ResponseEntity<ApiResponse<?>> handleUnauthorizedAccessException(UnauthorizedAccessException ex) {
         return ResponseEntity.status(HttpStatus.FORBIDDEN)
                 .body(new ApiResponse<>(false, ex.getMessage(), null));
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(StateTransitionConflictException.class)
+    public ResponseEntity<ApiResponse<?>> handleStateTransitionConflictException(StateTransitionConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ApiResponse<>(false, ex.getMessage(), null));
+    }
+}
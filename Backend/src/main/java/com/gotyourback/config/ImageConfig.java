@@ -0,0 +1,32 @@
+package com.gotyourback.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor that resizes uploaded images into their thumbnail and medium
+ * variants. Resizing is CPU-bound, so a few threads with a bounded queue;
+ * uploads that find the queue full are served from the original until
+ * their variants exist.
+ */
+@Configuration
+public class ImageConfig {
+
+    public static final String IMAGE_EXECUTOR = "imageExecutor";
+
+    @Bean(IMAGE_EXECUTOR)
+    public AsyncTaskExecutor imageExecutor(@Value("${gotyourback.images.resize-threads}") int threads,
+                                           @Value("${gotyourback.images.resize-queue}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("image-resize-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
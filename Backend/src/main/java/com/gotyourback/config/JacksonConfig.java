@@ -0,0 +1,33 @@
+package com.gotyourback.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serialization tuning for API responses. Blackbird replaces reflective
+ * getter calls with generated lambdas; Spring Boot registers it on the
+ * application ObjectMapper like any other Module bean.
+ *
+ * Clients that send {@code Accept: application/cbor} get CBOR instead of
+ * JSON. Browsers accept any type and keep getting JSON.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    // Built from Boot's builder so CBOR gets the same modules and date settings as JSON;
+    // Spring's default CBOR converter would write dates as numeric arrays and skip Blackbird
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,101 @@
+package com.gotyourback.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gotyourback.dto.ApiResponse;
+import com.gotyourback.dto.AuthenticatedUser;
+import com.gotyourback.service.JwtService;
+import com.gotyourback.service.KnownUsers;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Verifies the bearer token of API requests and exposes its user as the
+ * {@link AuthenticatedUser} request attribute. Every API request needs a
+ * valid token whose user still exists, except signing up, logging in and
+ * browsing the catalog; anything else is answered with 401 so the client
+ * knows to log in again.
+ */
+@RequiredArgsConstructor
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private static final List<String> PUBLIC_PATHS = List.of(
+            "/api/auth/**",
+            "/api/users/register",
+            "/api/users/login");
+
+    // Catalog pages and images; <img> tags cannot send a token
+    private static final List<String> PUBLIC_GET_PATHS = List.of(
+            "/api/items",
+            "/api/items/page",
+            "/api/items/{id:\\d+}",
+            "/api/images/**");
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final JwtService jwtService;
+    private final KnownUsers knownUsers;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            if (CorsUtils.isPreFlightRequest(request) || isPublic(request)) {
+                chain.doFilter(request, response);
+            } else {
+                reject(request, response, "Bearer", "Please log in to continue");
+            }
+            return;
+        }
+        AuthenticatedUser user;
+        try {
+            user = jwtService.verify(header.substring(BEARER_PREFIX.length()).trim());
+        } catch (JwtException | IllegalArgumentException e) {
+            reject(request, response, "Bearer error=\"invalid_token\"", "Session expired, please log in again");
+            return;
+        }
+        if (!knownUsers.exists(user.id())) {
+            reject(request, response, "Bearer error=\"invalid_token\"", "This account no longer exists");
+            return;
+        }
+        request.setAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE, user);
+        chain.doFilter(request, response);
+    }
+
+    private boolean isPublic(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (PUBLIC_PATHS.stream().anyMatch(pattern -> PATH_MATCHER.match(pattern, path))) {
+            return true;
+        }
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        return read && PUBLIC_GET_PATHS.stream().anyMatch(pattern -> PATH_MATCHER.match(pattern, path));
+    }
+
+    // Runs ahead of Spring MVC's CORS handling, so the browser needs the CORS headers added here to read the 401
+    private void reject(HttpServletRequest request, HttpServletResponse response, String challenge, String message)
+            throws IOException {
+        new DefaultCorsProcessor().processRequest(WebConfig.apiCorsConfiguration(), request, response);
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, challenge);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message));
+    }
+}
@@ -0,0 +1,31 @@
+package com.gotyourback.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor that writes Server-Sent Events to notification streams. Writes to
+ * a slow or half-open client can block, so they run here rather than on the
+ * scheduler or request thread that produced the event; a full queue drops
+ * the stream and the browser reconnects.
+ */
+@Configuration
+public class NotificationStreamConfig {
+
+    public static final String STREAM_EXECUTOR = "notificationStreamExecutor";
+
+    @Bean(STREAM_EXECUTOR)
+    public AsyncTaskExecutor notificationStreamExecutor(@Value("${gotyourback.notifications.stream.send-threads}") int threads,
+                                                        @Value("${gotyourback.notifications.stream.send-queue}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("notification-stream-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+}
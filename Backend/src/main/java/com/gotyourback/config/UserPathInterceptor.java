@@ -0,0 +1,40 @@
+package com.gotyourback.config;
+
+import com.gotyourback.exception.UnauthorizedAccessException;
+import com.gotyourback.service.CurrentUser;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Keeps users to their own data: an endpoint with a {@code {userId}} path
+ * variable only answers the signed-in user. None of the public catalog
+ * endpoints take one.
+ */
+@RequiredArgsConstructor
+public class UserPathInterceptor implements HandlerInterceptor {
+
+    private static final String USER_ID = "userId";
+
+    private final CurrentUser currentUser;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null || !variables.containsKey(USER_ID)) {
+            return true;
+        }
+        if (!String.valueOf(currentUser.id()).equals(variables.get(USER_ID))) {
+            throw new UnauthorizedAccessException("You can only access your own account");
+        }
+        return true;
+    }
+}
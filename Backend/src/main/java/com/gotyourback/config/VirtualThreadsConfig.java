@@ -0,0 +1,31 @@
+package com.gotyourback.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Startup check for the virtual-threads profile. Spring Boot only switches
+ * Tomcat and the task executors to virtual threads on Java 21+, and silently
+ * keeps platform threads otherwise.
+ */
+@Configuration
+@Profile("virtual-threads")
+@Slf4j
+public class VirtualThreadsConfig {
+
+    private static final int MIN_JAVA_VERSION = 21;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < MIN_JAVA_VERSION) {
+            log.warn("virtual-threads profile is active but Java {} has no virtual threads; " +
+                    "requests still run on platform threads (Java {}+ required)", javaVersion, MIN_JAVA_VERSION);
+        } else {
+            log.info("Serving requests and scheduled work on virtual threads");
+        }
+    }
+}
@@ -1,28 +1,66 @@
 package com.gotyourback.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gotyourback.service.CurrentUser;
+import com.gotyourback.service.JwtService;
+import com.gotyourback.service.KnownUsers;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.lang.NonNull;
 
+import java.util.List;
+
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final CurrentUser currentUser;
+
+    // Frontend origins, shared with the WebSocket endpoints
+    static final String[] ALLOWED_ORIGINS = {
+        "http://localhost:5500",
+        "http://127.0.0.1:5500",
+        "http://localhost:5501",
+        "http://127.0.0.1:5501",
+        "http://localhost:8081",
+        "http://127.0.0.1:8081"
+    };
+
+    // Also applied by the token filter, which answers some requests before Spring MVC sees them
+    static CorsConfiguration apiCorsConfiguration() {
+        CorsConfiguration config = new CorsConfiguration();
+        config.setAllowedOrigins(List.of(ALLOWED_ORIGINS));
+        config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.addAllowedHeader("*");
+        config.addExposedHeader("Authorization");
+        config.setAllowCredentials(true);
+        config.setMaxAge(3600L);
+        return config;
+    }
+
     @Override
     public void addCorsMappings(@NonNull CorsRegistry registry) {
-        registry.addMapping("/api/**")
-                .allowedOrigins(
-                    "http://localhost:5500",
-                    "http://127.0.0.1:5500",
-                    "http://localhost:5501",
-                    "http://127.0.0.1:5501",
-                    "http://localhost:8081",
-                    "http://127.0.0.1:8081"
-                )
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
-                .allowedHeaders("*")
-                .exposedHeaders("Authorization")
-                .allowCredentials(true)
-                .maxAge(3600);
+        registry.addMapping("/api/**").combine(apiCorsConfiguration());
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(new UserPathInterceptor(currentUser)).addPathPatterns("/api/**");
+    }
+
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilter(JwtService jwtService,
+                                                                                 KnownUsers knownUsers,
+                                                                                 ObjectMapper objectMapper) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration =
+                new FilterRegistrationBean<>(new JwtAuthenticationFilter(jwtService, knownUsers, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        return registration;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package com.gotyourback.config;
+
+import com.gotyourback.controller.ConversationSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final ConversationSocketHandler conversationSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(@NonNull WebSocketHandlerRegistry registry) {
+        registry.addHandler(conversationSocketHandler, ConversationSocketHandler.PATH)
+                .addInterceptors(conversationSocketHandler)
+                .setAllowedOrigins(WebConfig.ALLOWED_ORIGINS);
+    }
+}
@@ -6,6 +6,7 @@ import com.gotyourback.dto.ApiResponse;
 import com.gotyourback.dto.LoginRequest;
 import com.gotyourback.dto.LoginResponse;
 import com.gotyourback.dto.SignupRequest;
+import com.gotyourback.service.JwtService;
 import com.gotyourback.service.UserService;
 import lombok.RequiredArgsConstructor;
 
@@ -14,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AuthController {
     private final UserService userService;
+    private final JwtService jwtService;
 
     @PostMapping("/signup")
     public ResponseEntity<ApiResponse<?>> signup(@RequestBody SignupRequest request) {
@@ -35,6 +37,7 @@ public class AuthController {
                 return ResponseEntity.badRequest().body(ApiResponse.error("Please use your @srmist.edu.in email address"));
             }
             LoginResponse response = userService.login(request);
+            response.setToken(jwtService.issue(response.getId(), response.getName(), response.getEmail()));
             return ResponseEntity.ok(new ApiResponse<>(true, "Login successful", response));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
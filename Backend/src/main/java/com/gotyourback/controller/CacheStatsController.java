@@ -0,0 +1,26 @@
+package com.gotyourback.controller;
+
+import com.gotyourback.dto.ApiResponse;
+import com.gotyourback.dto.CacheStatsDto;
+import com.gotyourback.service.CacheStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheStatsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<List<CacheStatsDto>>> getCacheStats() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Cache statistics retrieved successfully",
+                cacheStatisticsService.getStatistics()));
+    }
+}
@@ -0,0 +1,145 @@
+package com.gotyourback.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gotyourback.dto.ApiResponse;
+import com.gotyourback.service.ConversationSocketRegistry;
+import com.gotyourback.service.JwtService;
+import com.gotyourback.service.KnownUsers;
+import com.gotyourback.service.MessageService;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chat socket for one request conversation at /ws/requests/{requestId}/messages.
+ * Browsers cannot set headers on a WebSocket, so the client offers the
+ * subprotocols {@code access_token, <token>}; the connected user is the one
+ * the token was issued to, and only {@code access_token} is echoed back.
+ * Every text frame received is sent as a message from the connected user, and
+ * each new message in the conversation is pushed back as a MessageDto JSON frame.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConversationSocketHandler extends TextWebSocketHandler implements HandshakeInterceptor, SubProtocolCapable {
+
+    public static final String PATH = "/ws/requests/{requestId}/messages";
+    public static final String TOKEN_PROTOCOL = "access_token";
+
+    private static final UriTemplate PATH_TEMPLATE = new UriTemplate(PATH);
+    private static final String REQUEST_ID = "requestId";
+    private static final String USER_ID = "userId";
+
+    private final MessageService messageService;
+    private final JwtService jwtService;
+    private final KnownUsers knownUsers;
+    private final ConversationSocketRegistry socketRegistry;
+    private final ObjectMapper objectMapper;
+
+    // Only participants of an accepted or done request may open its conversation
+    @Override
+    public boolean beforeHandshake(@NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response,
+                                   @NonNull WebSocketHandler wsHandler, @NonNull Map<String, Object> attributes) {
+        Long requestId;
+        try {
+            requestId = Long.valueOf(PATH_TEMPLATE.match(request.getURI().getPath()).get(REQUEST_ID));
+        } catch (NumberFormatException e) {
+            response.setStatusCode(HttpStatus.BAD_REQUEST);
+            return false;
+        }
+
+        Long userId;
+        try {
+            userId = jwtService.verify(offeredToken(request)).id();
+        } catch (JwtException | IllegalArgumentException e) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+        if (!knownUsers.exists(userId)) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+
+        try {
+            messageService.checkConversationAccess(requestId, userId);
+        } catch (RuntimeException e) {
+            log.debug("Rejected chat socket for request {} and user {}: {}", requestId, userId, e.getMessage());
+            response.setStatusCode(HttpStatus.FORBIDDEN);
+            return false;
+        }
+        attributes.put(REQUEST_ID, requestId);
+        attributes.put(USER_ID, userId);
+        return true;
+    }
+
+    // The entry after access_token in the offered subprotocols
+    private String offeredToken(ServerHttpRequest request) {
+        List<String> protocols = new WebSocketHttpHeaders(request.getHeaders()).getSecWebSocketProtocol();
+        int marker = protocols.indexOf(TOKEN_PROTOCOL);
+        if (marker < 0 || marker + 1 >= protocols.size()) {
+            throw new IllegalArgumentException("No access token offered");
+        }
+        return protocols.get(marker + 1);
+    }
+
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(TOKEN_PROTOCOL);
+    }
+
+    @Override
+    public void afterHandshake(@NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response,
+                               @NonNull WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    @Override
+    public void afterConnectionEstablished(@NonNull WebSocketSession session) {
+        socketRegistry.register(requestId(session), session);
+    }
+
+    @Override
+    protected void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage frame) throws Exception {
+        String content = frame.getPayload().trim();
+        if (content.isEmpty()) {
+            return;
+        }
+        try {
+            // The saved message reaches this socket too, through the registry broadcast
+            messageService.sendMessage((Long) session.getAttributes().get(USER_ID), requestId(session), content);
+        } catch (RuntimeException e) {
+            socketRegistry.send(requestId(session), session,
+                    new TextMessage(objectMapper.writeValueAsString(ApiResponse.error(e.getMessage()))));
+        }
+    }
+
+    @Override
+    public void handleTransportError(@NonNull WebSocketSession session, @NonNull Throwable exception) {
+        socketRegistry.unregister(requestId(session), session);
+    }
+
+    @Override
+    public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus status) {
+        socketRegistry.unregister(requestId(session), session);
+    }
+
+    private Long requestId(WebSocketSession session) {
+        return (Long) session.getAttributes().get(REQUEST_ID);
+    }
+}
@@ -2,10 +2,15 @@ package com.gotyourback.controller;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import com.gotyourback.dto.ApiResponse;
+import com.gotyourback.dto.CursorPage;
+import com.gotyourback.dto.DashboardSummaryDto;
 import com.gotyourback.dto.RequestDto;
+import com.gotyourback.service.DashboardService;
 import com.gotyourback.service.RequestService;
 import lombok.RequiredArgsConstructor;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/dashboard/users")
@@ -13,6 +18,19 @@ import java.util.List;
 public class DashboardController {
 
     private final RequestService requestService;
+    private final DashboardService dashboardService;
+
+    // Section timings are also sent as Server-Timing so they show up in the browser's network panel
+    @GetMapping("/{userId}/summary")
+    public ResponseEntity<DashboardSummaryDto> getSummary(@PathVariable Long userId) {
+        DashboardSummaryDto summary = dashboardService.getSummary(userId);
+        String serverTiming = summary.getTimingsMs().entrySet().stream()
+                .map(timing -> timing.getKey() + ";dur=" + timing.getValue())
+                .collect(Collectors.joining(", "));
+        return ResponseEntity.ok()
+                .header("Server-Timing", serverTiming + ", total;dur=" + summary.getTotalMs())
+                .body(summary);
+    }
 
     @GetMapping("/{userId}/requests")
     public ResponseEntity<List<RequestDto>> getUserRequests(@PathVariable Long userId) {
@@ -23,4 +41,22 @@ public class DashboardController {
     public ResponseEntity<List<RequestDto>> getReceivedRequests(@PathVariable Long userId) {
         return ResponseEntity.ok(requestService.getReceivedRequests(userId));
     }
+
+    @GetMapping("/{userId}/requests/page")
+    public ResponseEntity<ApiResponse<List<RequestDto>>> getUserRequestsPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<RequestDto> page = requestService.getRequestsPageByRequesterId(userId, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.page("Requests retrieved successfully", page));
+    }
+
+    @GetMapping("/{userId}/received-requests/page")
+    public ResponseEntity<ApiResponse<List<RequestDto>>> getReceivedRequestsPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<RequestDto> page = requestService.getReceivedRequestsPage(userId, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.page("Received requests retrieved successfully", page));
+    }
 }
\ No newline at end of file
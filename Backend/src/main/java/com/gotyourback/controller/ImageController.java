@@ -0,0 +1,152 @@
+package com.gotyourback.controller;
+
+import com.gotyourback.dto.ApiResponse;
+import com.gotyourback.dto.ImageDto;
+import com.gotyourback.service.ImageStorageService;
+import com.gotyourback.service.ImageStorageService.StoredImage;
+import com.gotyourback.service.ImageStorageService.Variant;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upload and download of item images. Image URLs never change content, so a
+ * served variant is cacheable for a year; bodies go out through the
+ * container's sendfile support when it has it, and ranges are honoured so
+ * interrupted downloads can resume.
+ */
+@RestController
+@RequestMapping("/api/images")
+@RequiredArgsConstructor
+public class ImageController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ImageStorageService imageStorageService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<ImageDto>> uploadImage(@RequestParam("file") MultipartFile file)
+            throws IOException {
+        String id = imageStorageService.store(file);
+        String url = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/images/{id}").buildAndExpand(id).toUriString();
+        ImageDto image = new ImageDto(id, url, url + "/" + Variant.MEDIUM.pathName(),
+                url + "/" + Variant.THUMB.pathName());
+        return ResponseEntity.ok(ApiResponse.success("Image uploaded successfully", image));
+    }
+
+    @GetMapping("/{id}")
+    public void getImage(@PathVariable String id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        serve(id, Variant.ORIGINAL, request, response);
+    }
+
+    @GetMapping("/{id}/{variant}")
+    public void getImageVariant(@PathVariable String id, @PathVariable String variant,
+                                HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Variant requested = Variant.fromPathName(variant).orElseThrow(ImageController::notFound);
+        serve(id, requested, request, response);
+    }
+
+    private void serve(String id, Variant variant, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        StoredImage image = imageStorageService.find(id, variant).orElseThrow(ImageController::notFound);
+        Path path = image.path();
+        long length = Files.size(path);
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        String etag = "\"" + image.variant().pathName() + "-" + length + "-" + id + "\"";
+
+        // A fallback to the original must be revalidated so the client picks up the variant once it exists
+        CacheControl cacheControl = image.variant() == variant
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+        response.setContentType(image.contentType());
+
+        long start = 0;
+        long end = length;
+        List<HttpRange> ranges = requestedRanges(request, etag);
+        if (ranges.size() == 1) {
+            HttpRange range = ranges.get(0);
+            // Range start beyond the file: the only range error worth reporting, the rest get the whole file
+            if (length == 0 || range.getRangeStart(length) >= length) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length) + 1;
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+        }
+        response.setContentLengthLong(end - start);
+
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the file straight from the page cache to the socket after this handler returns
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        transfer(path, start, end, response.getOutputStream());
+    }
+
+    // Multiple ranges would need a multipart/byteranges body; image clients never ask for one
+    private static List<HttpRange> requestedRanges(HttpServletRequest request, String etag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader == null || (ifRange != null && !ifRange.equals(etag))) {
+            return List.of();
+        }
+        try {
+            return HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    private static void transfer(Path path, long start, long end, OutputStream out) throws IOException {
+        try (FileChannel file = FileChannel.open(path)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            while (position < end) {
+                position += file.transferTo(position, end - position, target);
+            }
+        }
+    }
+
+    private static ResponseStatusException notFound() {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Image not found");
+    }
+}
@@ -1,14 +1,19 @@
 package com.gotyourback.controller;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import com.gotyourback.dto.ApiResponse;
 import com.gotyourback.dto.ItemDto;
 import com.gotyourback.model.Item.ItemType;
 import com.gotyourback.model.Item.ItemStatus;
+import com.gotyourback.service.CatalogVersion;
 import com.gotyourback.service.ItemService;
 import lombok.RequiredArgsConstructor;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/items")
@@ -16,14 +21,29 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final CatalogVersion catalogVersion;
 
     @GetMapping
     public ResponseEntity<List<ItemDto>> getItems(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) ItemType type,
             @RequestParam(required = false) String urgency,
-            @RequestParam(required = false) String keyword) {
-        return ResponseEntity.ok(itemService.getAllItems(category, type, urgency, keyword));
+            @RequestParam(required = false) String keyword,
+            WebRequest webRequest) {
+        return conditional(webRequest, () -> itemService.getAllItems(category, type, urgency, keyword));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<List<ItemDto>>> getItemsPage(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) ItemType type,
+            @RequestParam(required = false) String urgency,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        return conditional(webRequest, () -> ApiResponse.page("Items retrieved successfully",
+                itemService.getItemsPage(category, type, urgency, keyword, cursor, limit)));
     }
 
     @PostMapping
@@ -32,8 +52,8 @@ public class ItemController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ItemDto> getItem(@PathVariable Long id) {
-        return ResponseEntity.ok(itemService.getItemById(id));
+    public ResponseEntity<ItemDto> getItem(@PathVariable Long id, WebRequest webRequest) {
+        return conditional(webRequest, () -> itemService.getItemById(id));
     }
 
     @PutMapping("/{id}")
@@ -69,4 +89,16 @@ public class ItemController {
     public ResponseEntity<List<ItemDto>> getUserLentItems(@PathVariable Long userId) {
         return ResponseEntity.ok(itemService.getLentItemsByOwnerId(userId));
     }
-}
\ No newline at end of file
+
+    // Answers 304 while the client's ETag matches the catalog version, without loading anything
+    private <T> ResponseEntity<T> conditional(WebRequest webRequest, Supplier<T> body) {
+        String etag = catalogVersion.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(body.get());
+    }
+}
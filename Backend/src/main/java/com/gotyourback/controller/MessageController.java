@@ -1,5 +1,8 @@
 package com.gotyourback.controller;
 
+import com.gotyourback.dto.ApiResponse;
+import com.gotyourback.dto.ConversationSummaryDto;
+import com.gotyourback.dto.CursorPage;
 import com.gotyourback.dto.MessageDto;
 import com.gotyourback.service.MessageService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,9 +20,8 @@ public class MessageController {
     @PostMapping("/send/{requestId}")
     public ResponseEntity<MessageDto> sendMessage(
             @PathVariable Long requestId,
-            @RequestParam Long senderId,
             @RequestBody String content) {
-        return ResponseEntity.ok(messageService.sendMessage(senderId, requestId, content));
+        return ResponseEntity.ok(messageService.sendMessage(requestId, content));
     }
 
     @GetMapping("/request/{requestId}")
@@ -27,8 +29,37 @@ public class MessageController {
         return ResponseEntity.ok(messageService.getMessagesByRequestId(requestId));
     }
 
+    @GetMapping("/request/{requestId}/page")
+    public ResponseEntity<ApiResponse<List<MessageDto>>> getMessagesByRequestPage(
+            @PathVariable Long requestId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<MessageDto> page = messageService.getMessagesPageByRequestId(requestId, before, limit);
+        return ResponseEntity.ok(ApiResponse.page("Messages retrieved successfully", page));
+    }
+
+    @PutMapping("/request/{requestId}/read")
+    public ResponseEntity<ApiResponse<Integer>> markConversationRead(@PathVariable Long requestId) {
+        int updated = messageService.markConversationRead(requestId);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Conversation marked as read", updated));
+    }
+
+    @GetMapping("/user/{userId}/inbox")
+    public ResponseEntity<ApiResponse<List<ConversationSummaryDto>>> getInbox(@PathVariable Long userId) {
+        return ResponseEntity.ok(ApiResponse.success("Inbox retrieved successfully", messageService.getInbox(userId)));
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<MessageDto>> getUserMessages(@PathVariable Long userId) {
         return ResponseEntity.ok(messageService.getUserMessages(userId));
     }
+
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<ApiResponse<List<MessageDto>>> getUserMessagesPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<MessageDto> page = messageService.getUserMessagesPage(userId, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.page("Messages retrieved successfully", page));
+    }
 }
\ No newline at end of file
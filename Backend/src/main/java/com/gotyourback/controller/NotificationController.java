@@ -1,11 +1,16 @@
 package com.gotyourback.controller;
 
 import com.gotyourback.dto.ApiResponse;
+import com.gotyourback.dto.CursorPage;
 import com.gotyourback.dto.NotificationDto;
+import com.gotyourback.model.Notification;
 import com.gotyourback.service.NotificationService;
+import com.gotyourback.service.NotificationStreamRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -15,6 +20,7 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStreamRegistry streamRegistry;
 
     @GetMapping("/user/{userId}")
     public ResponseEntity<ApiResponse<List<NotificationDto>>> getUserNotifications(@PathVariable Long userId) {
@@ -22,6 +28,15 @@ public class NotificationController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Notifications retrieved successfully", notifications));
     }
 
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<ApiResponse<List<NotificationDto>>> getUserNotificationsPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<NotificationDto> page = notificationService.getNotificationsPageForUser(userId, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.page("Notifications retrieved successfully", page));
+    }
+
     @GetMapping("/user/{userId}/unread")
     public ResponseEntity<ApiResponse<List<NotificationDto>>> getUnreadNotifications(@PathVariable Long userId) {
         List<NotificationDto> notifications = notificationService.getUnreadNotificationsForUser(userId);
@@ -34,25 +49,49 @@ public class NotificationController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Unread count retrieved successfully", count));
     }
 
+    // Live "notification" and "unread-count" events, replacing badge polling
+    @GetMapping(path = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@PathVariable Long userId) {
+        return streamRegistry.subscribe(userId, notificationService.getUnreadCount(userId));
+    }
+
     @PutMapping("/{notificationId}/read")
-    public ResponseEntity<ApiResponse<NotificationDto>> markAsRead(
-            @PathVariable Long notificationId,
-            @RequestParam Long userId) {
-        NotificationDto notification = notificationService.markAsRead(notificationId, userId);
+    public ResponseEntity<ApiResponse<NotificationDto>> markAsRead(@PathVariable Long notificationId) {
+        NotificationDto notification = notificationService.markAsRead(notificationId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Notification marked as read", notification));
     }
 
     @PutMapping("/user/{userId}/read-all")
-    public ResponseEntity<ApiResponse<Void>> markAllAsRead(@PathVariable Long userId) {
-        notificationService.markAllAsRead(userId);
-        return ResponseEntity.ok(new ApiResponse<>(true, "All notifications marked as read", null));
+    public ResponseEntity<ApiResponse<Integer>> markAllAsRead(@PathVariable Long userId) {
+        int updated = notificationService.markAllAsRead(userId);
+        return ResponseEntity.ok(new ApiResponse<>(true, "All notifications marked as read", updated));
+    }
+
+    @PutMapping("/user/{userId}/read-by-request/{requestId}")
+    public ResponseEntity<ApiResponse<Integer>> markAsReadByRequest(
+            @PathVariable Long userId,
+            @PathVariable Long requestId) {
+        int updated = notificationService.markAsReadByRequest(userId, requestId);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Request notifications marked as read", updated));
+    }
+
+    @PutMapping("/user/{userId}/read-by-type")
+    public ResponseEntity<ApiResponse<Integer>> markAsReadByType(
+            @PathVariable Long userId,
+            @RequestParam Notification.NotificationType type) {
+        int updated = notificationService.markAsReadByType(userId, type);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Notifications marked as read", updated));
+    }
+
+    @DeleteMapping("/user/{userId}")
+    public ResponseEntity<ApiResponse<Integer>> deleteAllNotifications(@PathVariable Long userId) {
+        int deleted = notificationService.deleteAllForUser(userId);
+        return ResponseEntity.ok(new ApiResponse<>(true, "All notifications deleted successfully", deleted));
     }
 
     @DeleteMapping("/{notificationId}")
-    public ResponseEntity<ApiResponse<Void>> deleteNotification(
-            @PathVariable Long notificationId,
-            @RequestParam Long userId) {
-        notificationService.deleteNotification(notificationId, userId);
+    public ResponseEntity<ApiResponse<Void>> deleteNotification(@PathVariable Long notificationId) {
+        notificationService.deleteNotification(notificationId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Notification deleted successfully", null));
     }
 }
@@ -2,6 +2,8 @@ package com.gotyourback.controller;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import com.gotyourback.dto.ApiResponse;
+import com.gotyourback.dto.CursorPage;
 import com.gotyourback.dto.RequestDto;
 import com.gotyourback.model.Request.RequestStatus;
 import com.gotyourback.service.RequestService;
@@ -31,6 +33,15 @@ public class RequestController {
         return ResponseEntity.ok(requestService.getAcceptedRequestsForUser(userId));
     }
 
+    @GetMapping("/user/{userId}/accepted/page")
+    public ResponseEntity<ApiResponse<List<RequestDto>>> getAcceptedRequestsPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<RequestDto> page = requestService.getAcceptedRequestsPage(userId, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.page("Accepted requests retrieved successfully", page));
+    }
+
     @PostMapping
     public ResponseEntity<RequestDto> createRequest(@RequestBody RequestDto request) {
         return ResponseEntity.ok(requestService.createRequest(request));
@@ -49,24 +60,17 @@ public class RequestController {
     }
     
     @PutMapping("/{requestId}/confirm-return")
-    public ResponseEntity<RequestDto> confirmReturn(
-            @PathVariable Long requestId,
-            @RequestParam Long userId,
-            @RequestParam boolean isBorrower) {
-        return ResponseEntity.ok(requestService.confirmReturn(requestId, userId, isBorrower));
+    public ResponseEntity<RequestDto> confirmReturn(@PathVariable Long requestId) {
+        return ResponseEntity.ok(requestService.confirmReturn(requestId));
     }
     
     @PutMapping("/{requestId}/mark-as-lent")
-    public ResponseEntity<RequestDto> markAsLent(
-            @PathVariable Long requestId,
-            @RequestParam Long userId) {
-        return ResponseEntity.ok(requestService.markAsLent(requestId, userId));
+    public ResponseEntity<RequestDto> markAsLent(@PathVariable Long requestId) {
+        return ResponseEntity.ok(requestService.markAsLent(requestId));
     }
     
     @PutMapping("/{requestId}/confirm-receipt")
-    public ResponseEntity<RequestDto> confirmReceipt(
-            @PathVariable Long requestId,
-            @RequestParam Long userId) {
-        return ResponseEntity.ok(requestService.confirmReceipt(requestId, userId));
+    public ResponseEntity<RequestDto> confirmReceipt(@PathVariable Long requestId) {
+        return ResponseEntity.ok(requestService.confirmReceipt(requestId));
     }
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package com.gotyourback.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,6 +15,16 @@ public class ApiResponse<T> {
     private String message;
     private T data;
 
+    // Only present on paginated responses
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    public ApiResponse(boolean success, String message, T data) {
+        this.success = success;
+        this.message = message;
+        this.data = data;
+    }
+
     public static <T> ApiResponse<T> success(T data) {
         ApiResponse<T> response = new ApiResponse<>();
         response.setSuccess(true);
@@ -27,6 +40,12 @@ public class ApiResponse<T> {
         return response;
     }
 
+    public static <T> ApiResponse<List<T>> page(String message, CursorPage<T> page) {
+        ApiResponse<List<T>> response = success(message, page.getItems());
+        response.setNextCursor(page.getNextCursor());
+        return response;
+    }
+
     public static ApiResponse<?> error(String message) {
         ApiResponse<?> response = new ApiResponse<>();
         response.setSuccess(false);
@@ -0,0 +1,13 @@
+package com.gotyourback.dto;
+
+import java.time.Instant;
+
+/**
+ * The user a request's bearer token was issued to, taken from the verified
+ * claims. Name and email are the ones at login, so they lag a profile
+ * change until the user logs in again.
+ */
+public record AuthenticatedUser(Long id, String name, String email, Instant expiresAt) {
+
+    public static final String REQUEST_ATTRIBUTE = AuthenticatedUser.class.getName();
+}
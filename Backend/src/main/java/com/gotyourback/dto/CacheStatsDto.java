@@ -0,0 +1,17 @@
+package com.gotyourback.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+    private String name;
+    private String kind; // "entity" for second-level cache regions, "response" for DTO caches
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long size;
+}
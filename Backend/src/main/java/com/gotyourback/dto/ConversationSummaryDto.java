@@ -0,0 +1,24 @@
+package com.gotyourback.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One inbox row: a request conversation seen from one participant
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationSummaryDto {
+    private Long requestId;
+    private Long itemId;
+    private String itemName;
+    private Long counterpartId;
+    private String counterpartName;
+    private Long lastMessageId;
+    private Long lastSenderId;
+    private String lastMessage;
+    private LocalDateTime lastSentAt;
+    private Integer unreadCount;
+}
@@ -0,0 +1,39 @@
+package com.gotyourback.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    /**
+     * Builds a page from rows fetched with {@code limit + 1}: the extra row
+     * only signals that another page exists and is not returned.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit,
+                                          Function<E, LocalDateTime> timestamp,
+                                          Function<E, Long> id,
+                                          Function<E, T> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> pageRows = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            E last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new PageCursor(timestamp.apply(last), id.apply(last)).encode();
+        }
+
+        List<T> items = pageRows.stream().map(mapper).collect(Collectors.toList());
+        return new CursorPage<>(items, nextCursor);
+    }
+}
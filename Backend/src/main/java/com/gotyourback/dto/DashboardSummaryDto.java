@@ -0,0 +1,27 @@
+package com.gotyourback.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the dashboard page renders, loaded in one round trip.
+ * timingsMs holds how long each section's query took; totalMs is the
+ * wall-clock time of the whole fan-out.
+ */
+@Data
+@NoArgsConstructor
+public class DashboardSummaryDto {
+    private Long userId;
+    private List<ItemDto> items;
+    private List<RequestDto> sentRequests;
+    private List<RequestDto> receivedRequests;
+    private List<RequestDto> acceptedRequests;
+    private List<ItemDto> soldItems;
+    private List<ItemDto> lentItems;
+    private Long unreadNotifications;
+    private Map<String, Long> timingsMs;
+    private long totalMs;
+}
@@ -0,0 +1,15 @@
+package com.gotyourback.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageDto {
+    private String id;
+    private String url;
+    private String mediumUrl;
+    private String thumbnailUrl;
+}
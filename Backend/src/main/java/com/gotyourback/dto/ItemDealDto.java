@@ -0,0 +1,22 @@
+package com.gotyourback.dto;
+
+import com.gotyourback.model.RequestState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Projection of the request that sold or lent an item, loaded for many items at once
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemDealDto {
+    private Long itemId;
+    private Long requestId;
+    private String requesterName;
+    private String requesterEmail;
+    private RequestState state;
+    private LocalDateTime lentAt;
+    private LocalDateTime completedAt;
+}
@@ -15,4 +15,5 @@ public class LoginResponse {
     private String name;
     private String email;
     private String message;
+    private String token;
 }
\ No newline at end of file
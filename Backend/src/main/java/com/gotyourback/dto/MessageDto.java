@@ -12,6 +12,22 @@ public class MessageDto {
     private String content;
     private LocalDateTime sentAt;
 
+    public MessageDto() {
+    }
+
+    // Used by the MessageRepository JPQL projections
+    public MessageDto(Long id, Long requestId, Long senderId, String senderName, Long receiverId, String receiverName,
+                      String content, LocalDateTime sentAt) {
+        this.id = id;
+        this.requestId = requestId;
+        this.senderId = senderId;
+        this.senderName = senderName;
+        this.receiverId = receiverId;
+        this.receiverName = receiverName;
+        this.content = content;
+        this.sentAt = sentAt;
+    }
+
     public Long getId() {
         return id;
     }
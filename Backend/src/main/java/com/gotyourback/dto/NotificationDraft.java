@@ -0,0 +1,22 @@
+package com.gotyourback.dto;
+
+import com.gotyourback.model.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A notification that has been requested but not yet written to the notifications table
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDraft {
+    private Long recipientId;
+    private Notification.NotificationType type;
+    private String message;
+    private Long relatedItemId;
+    private Long relatedRequestId;
+    private Long relatedMessageId;
+    private LocalDateTime createdAt;
+}
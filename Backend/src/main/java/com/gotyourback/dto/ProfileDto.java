@@ -17,4 +17,6 @@ public class ProfileDto {
     private int totalListings;
     private int activeRequests;
     private int completedDeals;
+    private int itemsLent;
+    private int itemsSold;
 }
\ No newline at end of file
@@ -1,14 +1,19 @@
 package com.gotyourback.dto;
 
+import com.gotyourback.model.Item.ItemType;
 import com.gotyourback.model.Request.RequestStatus;
+import com.gotyourback.model.RequestState;
 import java.time.LocalDateTime;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 public class RequestDto {
     private Long id;
     private Long itemId;
     private Long requesterId;
+    private RequestState state;
     private RequestStatus status;
     private String requesterName;
     private String requesterEmail;
@@ -23,4 +28,43 @@ public class RequestDto {
     private LocalDateTime lentAt;
     private LocalDateTime receivedAt;
     private LocalDateTime completedAt;
-}
\ No newline at end of file
+
+    // Used by the RequestRepository JPQL projections; the item description is left out on purpose
+    public RequestDto(Long id, Long itemId, Long requesterId, RequestState state, LocalDateTime createdAt,
+                      String requesterName, String requesterEmail,
+                      Long ownerId, String ownerName, String ownerEmail,
+                      String itemName, String itemCategory, ItemType itemType, String itemUrgency,
+                      String itemImageUrl,
+                      LocalDateTime lentAt, LocalDateTime receivedAt, LocalDateTime completedAt) {
+        this.id = id;
+        this.itemId = itemId;
+        this.requesterId = requesterId;
+        this.state = state;
+        this.status = state.getStatus();
+        this.createdAt = createdAt;
+        this.requesterName = requesterName;
+        this.requesterEmail = requesterEmail;
+        this.ownerName = ownerName;
+        this.ownerEmail = ownerEmail;
+        // The per-step flags the frontend reads are derived from the state and its timestamps
+        this.borrowerConfirmedReturn = state.isBorrowerConfirmedReturn();
+        this.lenderConfirmedReturn = state.isLenderConfirmedReturn();
+        this.lenderMarkedAsLent = lentAt != null;
+        this.borrowerConfirmedReceipt = receivedAt != null;
+        this.lentAt = lentAt;
+        this.receivedAt = receivedAt;
+        this.completedAt = completedAt;
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(itemId);
+        itemDto.setName(itemName);
+        itemDto.setCategory(itemCategory);
+        itemDto.setType(itemType);
+        itemDto.setUrgency(itemUrgency);
+        itemDto.setImageUrl(itemImageUrl);
+        itemDto.setOwnerId(ownerId);
+        itemDto.setOwnerName(ownerName);
+        itemDto.setOwnerEmail(ownerEmail);
+        this.item = itemDto;
+    }
+}
@@ -0,0 +1,7 @@
+package com.gotyourback.exception;
+
+public class AuthenticationRequiredException extends RuntimeException {
+    public AuthenticationRequiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.gotyourback.exception;
+
+public class StateTransitionConflictException extends RuntimeException {
+    public StateTransitionConflictException(String message) {
+        super(message);
+    }
+}
@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 @Table(name = "notifications", indexes = {
     @Index(name = "idx_recipient_id", columnList = "recipientId"),
     @Index(name = "idx_is_read", columnList = "isRead"),
-    @Index(name = "idx_created_at", columnList = "createdAt")
+    @Index(name = "idx_created_at", columnList = "createdAt"),
+    @Index(name = "idx_recipient_created", columnList = "recipientId, createdAt, id")
 })
 @Data
 @NoArgsConstructor
@@ -25,7 +26,7 @@ public class Notification {
     private Long recipientId;
 
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @Column(name = "notification_type", nullable = false)
     private NotificationType type;
 
     @Column(nullable = false, length = 500)
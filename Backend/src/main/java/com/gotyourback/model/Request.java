@@ -23,25 +23,15 @@ public class Request {
     @JoinColumn(name = "requester_id", nullable = false)
     private User requester;
 
+    // Single lifecycle column; status and the confirmation flags are derived from it
     @Enumerated(EnumType.STRING)
-    private RequestStatus status = RequestStatus.PENDING;
+    @Column(name = "state", nullable = false, length = 20)
+    private RequestState state = RequestState.PENDING;
 
     @CreationTimestamp
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
-    @Column(name = "borrower_confirmed_return")
-    private Boolean borrowerConfirmedReturn = false;
-    
-    @Column(name = "lender_confirmed_return")
-    private Boolean lenderConfirmedReturn = false;
-    
-    @Column(name = "lender_marked_as_lent")
-    private Boolean lenderMarkedAsLent = false;
-    
-    @Column(name = "borrower_confirmed_receipt")
-    private Boolean borrowerConfirmedReceipt = false;
-    
     @Column(name = "lent_at")
     private LocalDateTime lentAt;
     
@@ -51,6 +41,10 @@ public class Request {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    public RequestStatus getStatus() {
+        return state.getStatus();
+    }
+
     public enum RequestStatus {
         PENDING, ACCEPTED, REJECTED, DONE
     }
@@ -0,0 +1,58 @@
+package com.gotyourback.model;
+
+import com.gotyourback.model.Request.RequestStatus;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Lifecycle state of a request, stored in the single requests.state column.
+ * The coarse RequestStatus shown to clients and the per-step confirmation
+ * flags are derived from it. Transitions are defined in RequestStateMachine.
+ */
+public enum RequestState {
+    PENDING(RequestStatus.PENDING),
+    REJECTED(RequestStatus.REJECTED),
+    ACCEPTED(RequestStatus.ACCEPTED),
+    LENT(RequestStatus.ACCEPTED),              // Owner handed the item over
+    RECEIVED(RequestStatus.ACCEPTED),          // Borrower confirmed receipt
+    DONE(RequestStatus.DONE),                  // Waiting for both return confirmations
+    BORROWER_RETURNED(RequestStatus.DONE),
+    LENDER_RETURNED(RequestStatus.DONE),
+    COMPLETED(RequestStatus.DONE),             // Both parties confirmed the return
+    SOLD(RequestStatus.DONE);                  // Sale finished when the buyer confirmed receipt
+
+    // Lends where the item has changed hands and is not back yet
+    public static final Set<RequestState> IN_FLIGHT = EnumSet.of(LENT, RECEIVED, DONE, BORROWER_RETURNED, LENDER_RETURNED);
+
+    private final RequestStatus status;
+
+    RequestState(RequestStatus status) {
+        this.status = status;
+    }
+
+    public RequestStatus getStatus() {
+        return status;
+    }
+
+    public boolean isBorrowerConfirmedReturn() {
+        return this == BORROWER_RETURNED || this == COMPLETED;
+    }
+
+    public boolean isLenderConfirmedReturn() {
+        return this == LENDER_RETURNED || this == COMPLETED;
+    }
+
+    public static Set<RequestState> withStatus(RequestStatus... statuses) {
+        Set<RequestStatus> wanted = EnumSet.noneOf(RequestStatus.class);
+        wanted.addAll(Arrays.asList(statuses));
+        Set<RequestState> states = EnumSet.noneOf(RequestState.class);
+        for (RequestState state : values()) {
+            if (wanted.contains(state.status)) {
+                states.add(state);
+            }
+        }
+        return states;
+    }
+}
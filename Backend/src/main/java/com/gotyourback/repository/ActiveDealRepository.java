@@ -0,0 +1,101 @@
+package com.gotyourback.repository;
+
+import com.gotyourback.dto.RequestDto;
+import com.gotyourback.model.Item.ItemType;
+import com.gotyourback.model.RequestState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC lookup of the requests a user takes part in, either as requester or as
+ * the owner of the requested item. Each side is read along its own index and
+ * the two are merged with UNION, so a user requesting their own item appears
+ * once and the result is a single newest-first list.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ActiveDealRepository {
+
+    private static final String BEFORE_CURSOR =
+            "AND (r.created_at < :cursorTime OR (r.created_at = :cursorTime AND r.id < :cursorId)) ";
+
+    private static final RowMapper<RequestDto> REQUEST_DTO = (rs, rowNum) -> new RequestDto(
+            rs.getLong("id"),
+            rs.getLong("item_id"),
+            rs.getLong("requester_id"),
+            RequestState.valueOf(rs.getString("state")),
+            toLocalDateTime(rs.getTimestamp("created_at")),
+            rs.getString("requester_name"),
+            rs.getString("requester_email"),
+            rs.getLong("owner_id"),
+            rs.getString("owner_name"),
+            rs.getString("owner_email"),
+            rs.getString("item_name"),
+            rs.getString("category"),
+            ItemType.valueOf(rs.getString("type")),
+            rs.getString("urgency"),
+            rs.getString("image_url"),
+            toLocalDateTime(rs.getTimestamp("lent_at")),
+            toLocalDateTime(rs.getTimestamp("received_at")),
+            toLocalDateTime(rs.getTimestamp("completed_at")));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<RequestDto> findByUserId(Long userId, Collection<RequestState> states) {
+        return find(userId, states, null, null, null);
+    }
+
+    public List<RequestDto> findPageByUserId(Long userId, Collection<RequestState> states,
+                                             LocalDateTime cursorTime, Long cursorId, int limit) {
+        return find(userId, states, cursorTime, cursorId, limit);
+    }
+
+    // Requester side reads (requester_id, state), owner side items(owner_id) then requests(item_id, state).
+    // With a limit each branch stops after that many rows; only the merged ids are joined for display.
+    private List<RequestDto> find(Long userId, Collection<RequestState> states,
+                                  LocalDateTime cursorTime, Long cursorId, Integer limit) {
+        String cursor = cursorTime != null ? BEFORE_CURSOR : "";
+        String page = limit != null ? " LIMIT :limit" : "";
+        String sql =
+                "SELECT r.id, r.item_id, r.requester_id, r.state, r.created_at, " +
+                "u.name AS requester_name, u.email AS requester_email, " +
+                "o.id AS owner_id, o.name AS owner_name, o.email AS owner_email, " +
+                "i.name AS item_name, i.category, i.type, i.urgency, i.image_url, " +
+                "r.lent_at, r.received_at, r.completed_at " +
+                "FROM (" +
+                "(SELECT r.id FROM requests r " +
+                "WHERE r.requester_id = :userId AND r.state IN (:states) " + cursor +
+                "ORDER BY r.created_at DESC, r.id DESC" + page + ") " +
+                "UNION " +
+                "(SELECT r.id FROM items i JOIN requests r ON r.item_id = i.id " +
+                "WHERE i.owner_id = :userId AND r.state IN (:states) " + cursor +
+                "ORDER BY r.created_at DESC, r.id DESC" + page + ")" +
+                ") deal " +
+                "JOIN requests r ON r.id = deal.id " +
+                "JOIN items i ON i.id = r.item_id " +
+                "JOIN users o ON o.id = i.owner_id " +
+                "JOIN users u ON u.id = r.requester_id " +
+                "ORDER BY r.created_at DESC, r.id DESC" + page;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("states", states.stream().map(Enum::name).toList())
+                .addValue("limit", limit);
+        if (cursorTime != null) {
+            params.addValue("cursorTime", Timestamp.valueOf(cursorTime)).addValue("cursorId", cursorId);
+        }
+        return jdbcTemplate.query(sql, params, REQUEST_DTO);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,101 @@
+package com.gotyourback.repository;
+
+import com.gotyourback.dto.ConversationSummaryDto;
+import com.gotyourback.model.Message;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * JDBC access to conversation_summary, the per-participant inbox rows that
+ * are upserted on every message so the inbox never reads the messages table.
+ */
+@Repository
+public class ConversationSummaryRepository {
+
+    public static final int PREVIEW_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String upsert;
+
+    public ConversationSummaryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        this.upsert = upsert("MySQL".equalsIgnoreCase(product));
+    }
+
+    // MySQL 8.0.20+ deprecates VALUES(col) in favour of a row alias, which H2 (load test, tests) cannot parse.
+    // Stored columns are qualified with the table so they never resolve to the alias.
+    // last_message_id is assigned last: MySQL applies the assignments left to right, so the
+    // comparisons above it still see the stored id. A message committed late never replaces a newer one.
+    private static String upsert(boolean rowAlias) {
+        Function<String, String> incoming = rowAlias ? column -> "incoming." + column : column -> "VALUES(" + column + ")";
+        return "INSERT INTO conversation_summary (request_id, user_id, counterpart_id, last_message_id, last_sender_id, " +
+                "last_message, last_sent_at, unread_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+                (rowAlias ? "AS incoming " : "") +
+                "ON DUPLICATE KEY UPDATE " +
+                "unread_count = CASE WHEN " + incoming.apply("unread_count") + " = 0 THEN 0 " +
+                "ELSE conversation_summary.unread_count + 1 END, " +
+                "last_sender_id = " + newer(incoming, "last_sender_id") + ", " +
+                "last_message = " + newer(incoming, "last_message") + ", " +
+                "last_sent_at = " + newer(incoming, "last_sent_at") + ", " +
+                "last_message_id = GREATEST(conversation_summary.last_message_id, " + incoming.apply("last_message_id") + ")";
+    }
+
+    private static String newer(Function<String, String> incoming, String column) {
+        return "CASE WHEN " + incoming.apply("last_message_id") + " > conversation_summary.last_message_id " +
+                "THEN " + incoming.apply(column) + " ELSE conversation_summary." + column + " END";
+    }
+
+    // Upserts both participants' rows: the receiver gains an unread message, the sender has read everything
+    public void recordMessage(Message message) {
+        Long requestId = message.getRequest().getId();
+        Long senderId = message.getSender().getId();
+        Long receiverId = message.getReceiver().getId();
+        String content = message.getContent();
+        // Cut on a code point boundary: a split surrogate pair is not valid text
+        String preview = content.codePointCount(0, content.length()) > PREVIEW_LENGTH
+                ? content.substring(0, content.offsetByCodePoints(0, PREVIEW_LENGTH))
+                : content;
+        Timestamp sentAt = Timestamp.valueOf(message.getSentAt());
+
+        jdbcTemplate.batchUpdate(upsert, List.of(
+                new Object[]{requestId, receiverId, senderId, message.getId(), senderId, preview, sentAt, 1},
+                new Object[]{requestId, senderId, receiverId, message.getId(), senderId, preview, sentAt, 0}));
+    }
+
+    public int markRead(Long requestId, Long userId) {
+        return jdbcTemplate.update(
+                "UPDATE conversation_summary SET unread_count = 0 WHERE request_id = ? AND user_id = ? AND unread_count > 0",
+                requestId, userId);
+    }
+
+    // Newest conversation first, read off the (user_id, last_sent_at, request_id) index
+    public List<ConversationSummaryDto> findByUserId(Long userId) {
+        return jdbcTemplate.query(
+                "SELECT cs.request_id, i.id AS item_id, i.name AS item_name, cs.counterpart_id, u.name AS counterpart_name, " +
+                "cs.last_message_id, cs.last_sender_id, cs.last_message, cs.last_sent_at, cs.unread_count " +
+                "FROM conversation_summary cs " +
+                "JOIN users u ON u.id = cs.counterpart_id " +
+                "JOIN requests r ON r.id = cs.request_id " +
+                "JOIN items i ON i.id = r.item_id " +
+                "WHERE cs.user_id = ? ORDER BY cs.last_sent_at DESC, cs.request_id DESC",
+                (rs, rowNum) -> new ConversationSummaryDto(
+                        rs.getLong("request_id"),
+                        rs.getLong("item_id"),
+                        rs.getString("item_name"),
+                        rs.getLong("counterpart_id"),
+                        rs.getString("counterpart_name"),
+                        rs.getLong("last_message_id"),
+                        rs.getLong("last_sender_id"),
+                        rs.getString("last_message"),
+                        rs.getTimestamp("last_sent_at").toLocalDateTime(),
+                        rs.getInt("unread_count")),
+                userId);
+    }
+}
@@ -1,9 +1,13 @@
 package com.gotyourback.repository;
 
 import com.gotyourback.model.Item;
+import com.gotyourback.model.Item.ItemStatus;
 import com.gotyourback.model.Item.ItemType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
@@ -27,7 +31,26 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
            "(:category is null or i.category = :category) and " +
            "(:type is null or i.type = :type) and " +
            "(:urgency is null or i.urgency = :urgency) and " +
-           "(:keyword is null or lower(i.name) like lower(concat('%', :keyword, '%'))) and " +
            "i.status = 'AVAILABLE'")
-    List<Item> searchItems(String category, ItemType type, String urgency, String keyword);
-}
\ No newline at end of file
+    List<Item> searchItems(String category, ItemType type, String urgency);
+
+    // Keyset page of available items, newest first; pass a null cursor for the first page
+    @Query("SELECT i FROM Item i WHERE " +
+           "(:category is null or i.category = :category) and " +
+           "(:type is null or i.type = :type) and " +
+           "(:urgency is null or i.urgency = :urgency) and " +
+           "i.status = 'AVAILABLE' and " +
+           "(:cursorTime is null or i.createdAt < :cursorTime or (i.createdAt = :cursorTime and i.id < :cursorId)) " +
+           "ORDER BY i.createdAt DESC, i.id DESC")
+    List<Item> searchItemsPage(String category, ItemType type, String urgency,
+                               LocalDateTime cursorTime, Long cursorId, Pageable pageable);
+
+    // Compare-and-set: 1 if the item was still in the expected status, 0 if someone changed it first
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Item i SET i.status = :next WHERE i.id = :id AND i.status = :expected")
+    int transitionStatus(Long id, ItemStatus expected, ItemStatus next);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Item i SET i.status = :status WHERE i.id = :id")
+    int updateStatus(Long id, ItemStatus status);
+}
@@ -1,9 +1,12 @@
 package com.gotyourback.repository;
 
+import com.gotyourback.dto.MessageDto;
 import com.gotyourback.model.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
@@ -12,4 +15,18 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     
     @Query("SELECT m FROM Message m WHERE (m.sender.id = :userId OR m.receiver.id = :userId) ORDER BY m.sentAt DESC")
     List<Message> findByUserId(@Param("userId") Long userId);
-}
\ No newline at end of file
+
+    @Query("SELECT m FROM Message m WHERE (m.sender.id = :userId OR m.receiver.id = :userId) and " +
+           "(:cursorTime is null or m.sentAt < :cursorTime or (m.sentAt = :cursorTime and m.id < :cursorId)) " +
+           "ORDER BY m.sentAt DESC, m.id DESC")
+    List<Message> findPageByUserId(@Param("userId") Long userId, @Param("cursorTime") LocalDateTime cursorTime,
+                                   @Param("cursorId") Long cursorId, Pageable pageable);
+
+    // One conversation page, newest first, read along the (request_id, sent_at, id) index
+    @Query("SELECT new com.gotyourback.dto.MessageDto(m.id, m.request.id, s.id, s.name, r.id, r.name, m.content, m.sentAt) " +
+           "FROM Message m JOIN m.sender s JOIN m.receiver r WHERE m.request.id = :requestId and " +
+           "(:cursorTime is null or m.sentAt < :cursorTime or (m.sentAt = :cursorTime and m.id < :cursorId)) " +
+           "ORDER BY m.sentAt DESC, m.id DESC")
+    List<MessageDto> findDtoPageByRequestId(@Param("requestId") Long requestId, @Param("cursorTime") LocalDateTime cursorTime,
+                                            @Param("cursorId") Long cursorId, Pageable pageable);
+}
@@ -0,0 +1,72 @@
+package com.gotyourback.repository;
+
+import com.gotyourback.dto.NotificationDraft;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC bulk insert into notifications. Notification ids are AUTO_INCREMENT,
+ * which keeps Hibernate from batching the inserts, so instead each chunk is
+ * one multi-row INSERT and the generated ids come back with it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationBatchRepository {
+
+    // Upper bound on rows per multi-row INSERT statement, as for the outbox
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+
+    private static final String INSERT = "INSERT INTO notifications (recipient_id, notification_type, message, " +
+            "related_item_id, related_request_id, related_message_id, is_read, created_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, 0, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Ids of the inserted rows, in the order of the drafts
+    public List<Long> insertAll(List<NotificationDraft> drafts) {
+        List<Long> ids = new ArrayList<>(drafts.size());
+        for (int from = 0; from < drafts.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<NotificationDraft> chunk = drafts.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, drafts.size()));
+            String sql = INSERT + String.join(", ", Collections.nCopies(chunk.size(), ROW));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"});
+                int index = 1;
+                for (NotificationDraft draft : chunk) {
+                    statement.setLong(index++, draft.getRecipientId());
+                    statement.setString(index++, draft.getType().name());
+                    statement.setString(index++, draft.getMessage());
+                    setNullableLong(statement, index++, draft.getRelatedItemId());
+                    setNullableLong(statement, index++, draft.getRelatedRequestId());
+                    setNullableLong(statement, index++, draft.getRelatedMessageId());
+                    statement.setTimestamp(index++, Timestamp.valueOf(draft.getCreatedAt()));
+                }
+                return statement;
+            }, keys);
+            for (Map<String, Object> row : keys.getKeyList()) {
+                ids.add(((Number) row.values().iterator().next()).longValue());
+            }
+        }
+        return ids;
+    }
+
+    private static void setNullableLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value != null) {
+            statement.setLong(index, value);
+        } else {
+            statement.setNull(index, Types.BIGINT);
+        }
+    }
+}
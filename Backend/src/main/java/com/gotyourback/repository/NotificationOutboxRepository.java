@@ -0,0 +1,95 @@
+package com.gotyourback.repository;
+
+import com.gotyourback.dto.NotificationDraft;
+import com.gotyourback.model.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JDBC access to the notification_outbox table. Rows are appended inside the
+ * business transaction and later moved into notifications in batches by
+ * NotificationOutboxRelay.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationOutboxRepository {
+
+    // Upper bound on rows per multi-row INSERT statement
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+
+    private static final String COLUMNS =
+            "recipient_id, notification_type, message, related_item_id, related_request_id, related_message_id, created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<NotificationDraft> drafts) {
+        for (int from = 0; from < drafts.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<NotificationDraft> chunk = drafts.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, drafts.size()));
+            StringBuilder sql = new StringBuilder("INSERT INTO notification_outbox (" + COLUMNS + ") VALUES ");
+            List<Object> args = new ArrayList<>(chunk.size() * 7);
+            for (int i = 0; i < chunk.size(); i++) {
+                NotificationDraft draft = chunk.get(i);
+                sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?, ?)");
+                args.add(draft.getRecipientId());
+                args.add(draft.getType().name());
+                args.add(draft.getMessage());
+                args.add(draft.getRelatedItemId());
+                args.add(draft.getRelatedRequestId());
+                args.add(draft.getRelatedMessageId());
+                args.add(Timestamp.valueOf(draft.getCreatedAt()));
+            }
+            jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+    }
+
+    // Locks the oldest pending rows so concurrent relays never move the same row twice
+    public List<Long> lockOldest(int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM notification_outbox ORDER BY id LIMIT ? FOR UPDATE",
+                Long.class, limit);
+    }
+
+    // The rows as they can be written to notifications now, in outbox order
+    public List<NotificationDraft> findDeliverable(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // The joins mirror the notifications foreign keys: rows for deleted recipients are dropped and
+        // references to items, requests or messages deleted in the meantime become NULL
+        return jdbcTemplate.query(
+                "SELECT o.recipient_id, o.notification_type, o.message, i.id AS item_id, r.id AS request_id, " +
+                "m.id AS message_id, o.created_at " +
+                "FROM notification_outbox o " +
+                "JOIN users u ON u.id = o.recipient_id " +
+                "LEFT JOIN items i ON i.id = o.related_item_id " +
+                "LEFT JOIN requests r ON r.id = o.related_request_id " +
+                "LEFT JOIN messages m ON m.id = o.related_message_id " +
+                "WHERE o.id IN (" + placeholders(ids.size()) + ") ORDER BY o.id",
+                (rs, rowNum) -> new NotificationDraft(
+                        rs.getLong("recipient_id"),
+                        Notification.NotificationType.valueOf(rs.getString("notification_type")),
+                        rs.getString("message"),
+                        rs.getObject("item_id", Long.class),
+                        rs.getObject("request_id", Long.class),
+                        rs.getObject("message_id", Long.class),
+                        rs.getTimestamp("created_at").toLocalDateTime()),
+                ids.toArray());
+    }
+
+    public int deleteByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(
+                "DELETE FROM notification_outbox WHERE id IN (" + placeholders(ids.size()) + ")", ids.toArray());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
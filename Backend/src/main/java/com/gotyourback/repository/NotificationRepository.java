@@ -1,9 +1,14 @@
 package com.gotyourback.repository;
 
 import com.gotyourback.model.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,7 +18,40 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     
     List<Notification> findByRecipientIdAndIsReadOrderByCreatedAtDesc(Long recipientId, Boolean isRead);
     
+    @Query("SELECT n FROM Notification n WHERE n.recipientId = :recipientId and " +
+           "(:cursorTime is null or n.createdAt < :cursorTime or (n.createdAt = :cursorTime and n.id < :cursorId)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findPageByRecipientId(Long recipientId, LocalDateTime cursorTime, Long cursorId,
+                                             Pageable pageable);
+    
     Long countByRecipientIdAndIsRead(Long recipientId, Boolean isRead);
     
-    void deleteByRecipientId(Long recipientId);
+    @Query("SELECT n.recipientId AS recipientId, COUNT(n) AS unreadCount FROM Notification n " +
+           "WHERE n.isRead = false AND n.recipientId IN :recipientIds GROUP BY n.recipientId")
+    List<RecipientUnreadCount> countUnreadByRecipientIds(Collection<Long> recipientIds);
+    
+    // Bulk statements: each runs as a single UPDATE/DELETE and returns the affected row count
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt " +
+           "WHERE n.recipientId = :recipientId AND n.isRead = false")
+    int markAllReadByRecipientId(Long recipientId, LocalDateTime readAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt " +
+           "WHERE n.recipientId = :recipientId AND n.relatedRequestId = :requestId AND n.isRead = false")
+    int markReadByRecipientIdAndRequestId(Long recipientId, Long requestId, LocalDateTime readAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt " +
+           "WHERE n.recipientId = :recipientId AND n.type = :type AND n.isRead = false")
+    int markReadByRecipientIdAndType(Long recipientId, Notification.NotificationType type, LocalDateTime readAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Notification n WHERE n.recipientId = :recipientId")
+    int deleteByRecipientId(Long recipientId);
+
+    interface RecipientUnreadCount {
+        Long getRecipientId();
+        Long getUnreadCount();
+    }
 }
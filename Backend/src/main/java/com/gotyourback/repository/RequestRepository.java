@@ -1,15 +1,53 @@
 package com.gotyourback.repository;
 
+import com.gotyourback.dto.ItemDealDto;
+import com.gotyourback.dto.RequestDto;
 import com.gotyourback.model.Request;
+import com.gotyourback.model.RequestState;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface RequestRepository extends JpaRepository<Request, Long> {
-    List<Request> findByRequesterId(Long requesterId);
-    List<Request> findByItem_OwnerId(Long ownerId);
     List<Request> findByItem_Id(Long itemId);
-    Long countByRequesterIdAndStatusIn(Long requesterId, List<Request.RequestStatus> statuses);
-    Long countByRequesterIdAndStatus(Long requesterId, Request.RequestStatus status);
-    List<Request> findByRequesterIdAndStatus(Long requesterId, Request.RequestStatus status);
-    List<Request> findByItem_OwnerIdAndStatus(Long ownerId, Request.RequestStatus status);
-}
\ No newline at end of file
+    Long countByRequesterIdAndStateIn(Long requesterId, Collection<RequestState> states);
+
+    // Requester details for the deals on a batch of items, oldest request first per item
+    @Query("SELECT new com.gotyourback.dto.ItemDealDto(r.item.id, r.id, u.name, u.email, r.state, " +
+           "r.lentAt, r.completedAt) " +
+           "FROM Request r JOIN r.requester u " +
+           "WHERE r.item.id IN :itemIds AND r.state IN :states " +
+           "ORDER BY r.item.id, r.id")
+    List<ItemDealDto> findDealsByItemIds(Collection<Long> itemIds, Collection<RequestState> states);
+
+    // Flat projection straight into RequestDto: one joined SELECT, no entity graphs
+    String REQUEST_DTO_SELECT = "SELECT new com.gotyourback.dto.RequestDto(r.id, i.id, u.id, r.state, r.createdAt, " +
+           "u.name, u.email, o.id, o.name, o.email, i.name, i.category, i.type, i.urgency, i.imageUrl, " +
+           "r.lentAt, r.receivedAt, r.completedAt) " +
+           "FROM Request r JOIN r.item i JOIN i.owner o JOIN r.requester u ";
+
+    @Query(REQUEST_DTO_SELECT + "WHERE r.id = :id")
+    Optional<RequestDto> findDtoById(Long id);
+
+    @Query(REQUEST_DTO_SELECT + "WHERE u.id = :requesterId")
+    List<RequestDto> findDtosByRequesterId(Long requesterId);
+
+    @Query(REQUEST_DTO_SELECT + "WHERE o.id = :ownerId")
+    List<RequestDto> findDtosByItemOwnerId(Long ownerId);
+
+    @Query(REQUEST_DTO_SELECT + "WHERE u.id = :requesterId and " +
+           "(:cursorTime is null or r.createdAt < :cursorTime or (r.createdAt = :cursorTime and r.id < :cursorId)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<RequestDto> findDtoPageByRequesterId(Long requesterId, LocalDateTime cursorTime, Long cursorId,
+                                              Pageable pageable);
+
+    @Query(REQUEST_DTO_SELECT + "WHERE o.id = :ownerId and " +
+           "(:cursorTime is null or r.createdAt < :cursorTime or (r.createdAt = :cursorTime and r.id < :cursorId)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<RequestDto> findDtoPageByItemOwnerId(Long ownerId, LocalDateTime cursorTime, Long cursorId,
+                                              Pageable pageable);
+}
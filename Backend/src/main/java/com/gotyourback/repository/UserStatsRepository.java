@@ -0,0 +1,53 @@
+package com.gotyourback.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * JDBC access to user_stats, the per-user profile counters kept up to date by
+ * the item and request workflows so a profile view is one primary-key read.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserStatsRepository {
+
+    public enum Counter {
+        TOTAL_LISTINGS("total_listings"),
+        ACTIVE_REQUESTS("active_requests"),
+        COMPLETED_DEALS("completed_deals"),
+        ITEMS_LENT("items_lent"),
+        ITEMS_SOLD("items_sold");
+
+        private final String column;
+
+        Counter(String column) {
+            this.column = column;
+        }
+    }
+
+    public record UserStats(int totalListings, int activeRequests, int completedDeals, int itemsLent, int itemsSold) {
+        public static final UserStats EMPTY = new UserStats(0, 0, 0, 0, 0);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Creates the row on first use; counters never drop below zero
+    public void add(Long userId, Counter counter, int delta) {
+        jdbcTemplate.update("INSERT INTO user_stats (user_id, " + counter.column + ") VALUES (?, ?) " +
+                        "ON DUPLICATE KEY UPDATE " + counter.column + " = GREATEST(" + counter.column + " + ?, 0)",
+                userId, Math.max(delta, 0), delta);
+    }
+
+    public UserStats findByUserId(Long userId) {
+        List<UserStats> rows = jdbcTemplate.query(
+                "SELECT total_listings, active_requests, completed_deals, items_lent, items_sold " +
+                "FROM user_stats WHERE user_id = ?",
+                (rs, rowNum) -> new UserStats(rs.getInt("total_listings"), rs.getInt("active_requests"),
+                        rs.getInt("completed_deals"), rs.getInt("items_lent"), rs.getInt("items_sold")),
+                userId);
+        return rows.isEmpty() ? UserStats.EMPTY : rows.get(0);
+    }
+}
@@ -0,0 +1,64 @@
+package com.gotyourback.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.gotyourback.dto.CacheStatsDto;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
+    private final JwtService jwtService;
+
+    public List<CacheStatsDto> getStatistics() {
+        List<CacheStatsDto> stats = new ArrayList<>();
+
+        Statistics hibernateStats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : hibernateStats.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = hibernateStats.getDomainDataRegionStatistics(region);
+            if (regionStats != null) {
+                long hits = regionStats.getHitCount();
+                long misses = regionStats.getMissCount();
+                stats.add(new CacheStatsDto(region, "entity", hits, misses, hitRate(hits, misses),
+                        Math.max(0, regionStats.getElementCountInMemory())));
+            }
+        }
+
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            // Caches come wrapped by the transaction-aware proxy; statistics live on the Caffeine cache
+            if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                cache = decorator.getTargetCache();
+            }
+            if (cache instanceof CaffeineCache caffeineCache) {
+                CacheStats cacheStats = caffeineCache.getNativeCache().stats();
+                stats.add(new CacheStatsDto(name, "response", cacheStats.hitCount(), cacheStats.missCount(),
+                        cacheStats.hitRate(), caffeineCache.getNativeCache().estimatedSize()));
+            }
+        }
+
+        CacheStats tokenStats = jwtService.verifiedTokenStats();
+        stats.add(new CacheStatsDto("verifiedTokens", "auth", tokenStats.hitCount(), tokenStats.missCount(),
+                tokenStats.hitRate(), jwtService.verifiedTokenCount()));
+        return stats;
+    }
+
+    private static double hitRate(long hits, long misses) {
+        long requests = hits + misses;
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,47 @@
+package com.gotyourback.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the item catalog, used as the weak ETag of catalog reads. Any
+ * write that can change an item response bumps it once the write commits,
+ * so a client holding the current tag can be answered with 304 without
+ * touching the database.
+ *
+ * The counter starts from the boot time, so tags handed out before a restart
+ * never match afterwards. It is per instance, like the other in-memory
+ * registries.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    // Read before loading the response: a write racing the read can only make the tag older, never newer
+    public String etag() {
+        return "W/\"catalog-" + version.get() + "\"";
+    }
+
+    public void bump() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                version.incrementAndGet();
+            }
+        });
+    }
+
+    @EventListener
+    public void onTransition(RequestTransitionEvent event) {
+        bump();
+    }
+}
@@ -0,0 +1,88 @@
+package com.gotyourback.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.gotyourback.dto.MessageDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks open chat WebSockets per request conversation and pushes new
+ * messages to every participant connected to it.
+ */
+@Component
+@Slf4j
+public class ConversationSocketRegistry {
+
+    // A slow client gets dropped instead of holding up sends to the rest of the conversation
+    private static final int SEND_TIME_LIMIT_MS = 5000;
+    private static final int SEND_BUFFER_LIMIT_BYTES = 64 * 1024;
+
+    private final ObjectWriter messageWriter;
+
+    private final Map<Long, Map<String, WebSocketSession>> sessionsByRequest = new ConcurrentHashMap<>();
+
+    public ConversationSocketRegistry(ObjectMapper objectMapper) {
+        this.messageWriter = objectMapper.writerFor(MessageDto.class);
+    }
+
+    public void register(Long requestId, WebSocketSession session) {
+        // The decorator serializes concurrent sends to one session, which raw sessions do not allow
+        sessionsByRequest.computeIfAbsent(requestId, id -> new ConcurrentHashMap<>()).put(session.getId(),
+                new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT_BYTES));
+    }
+
+    public void unregister(Long requestId, WebSocketSession session) {
+        sessionsByRequest.computeIfPresent(requestId, (id, sessions) -> {
+            sessions.remove(session.getId());
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    public void publishMessage(MessageDto message) {
+        Map<String, WebSocketSession> sessions = sessionsByRequest.get(message.getRequestId());
+        if (sessions == null || sessions.isEmpty()) {
+            return;
+        }
+        TextMessage frame;
+        try {
+            frame = new TextMessage(messageWriter.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize message {}", message.getId(), e);
+            return;
+        }
+        for (WebSocketSession session : sessions.values()) {
+            send(message.getRequestId(), session, frame);
+        }
+    }
+
+    public void send(Long requestId, WebSocketSession session, TextMessage frame) {
+        WebSocketSession target = sessionsByRequest.getOrDefault(requestId, Map.of())
+                .getOrDefault(session.getId(), session);
+        try {
+            target.sendMessage(frame);
+        } catch (IOException | RuntimeException e) {
+            // Includes SessionLimitExceededException from the decorator when the client cannot keep up
+            log.debug("Dropping chat socket {} for request {}", session.getId(), requestId, e);
+            unregister(requestId, session);
+            close(target);
+        }
+    }
+
+    private static void close(WebSocketSession session) {
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not close chat socket {}", session.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.gotyourback.service;
+
+import com.gotyourback.dto.AuthenticatedUser;
+import com.gotyourback.exception.AuthenticationRequiredException;
+import com.gotyourback.exception.UnauthorizedAccessException;
+import com.gotyourback.model.User;
+import com.gotyourback.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * The caller of the current request, as established by the bearer token
+ * filter. Every API request that changes something carries a token, so
+ * services take the acting user from here rather than from ids the client
+ * sends. Chat sockets authenticate at the handshake and have no request, so
+ * their calls pass the socket's user id explicitly.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUser {
+
+    private final UserRepository userRepository;
+
+    public Optional<AuthenticatedUser> get() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable((AuthenticatedUser) attributes.getAttribute(
+                AuthenticatedUser.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    /**
+     * The id of the signed-in user.
+     *
+     * @throws AuthenticationRequiredException outside a request with a valid token
+     */
+    public Long id() {
+        return get().map(AuthenticatedUser::id)
+                .orElseThrow(() -> new AuthenticationRequiredException("Please log in to continue"));
+    }
+
+    /**
+     * The user acting in this request. With a token the id must be the
+     * token's and the user comes back as an unloaded reference, since the
+     * token filter has already checked that the user exists; outside a
+     * request, as on a chat socket, it is looked up.
+     */
+    public User actingAs(Long userId, Supplier<? extends RuntimeException> notFound) {
+        Optional<AuthenticatedUser> principal = get();
+        if (principal.isEmpty()) {
+            return userRepository.findById(userId).orElseThrow(notFound);
+        }
+        if (!principal.get().id().equals(userId)) {
+            throw new UnauthorizedAccessException("You can only act as the signed-in user");
+        }
+        return userRepository.getReferenceById(userId);
+    }
+
+    // Reads the name from the token rather than initializing the user reference
+    public String nameOf(User user) {
+        return get().filter(principal -> principal.id().equals(user.getId()))
+                .map(AuthenticatedUser::name)
+                .orElseGet(user::getName);
+    }
+
+    // Like nameOf; tokens issued before the email claim existed fall back to the user
+    public String emailOf(User user) {
+        return get().filter(principal -> principal.id().equals(user.getId()) && principal.email() != null)
+                .map(AuthenticatedUser::email)
+                .orElseGet(user::getEmail);
+    }
+}
@@ -0,0 +1,141 @@
+package com.gotyourback.service;
+
+import com.gotyourback.config.DashboardConfig;
+import com.gotyourback.dto.DashboardSummaryDto;
+import com.gotyourback.dto.ItemDto;
+import com.gotyourback.dto.RequestDto;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Builds the dashboard summary by running every section's reads at the same
+ * time, each in its own read-only transaction on the dashboard executor.
+ * The response takes as long as the slowest section rather than their sum.
+ */
+@Service
+public class DashboardService {
+
+    private final ItemService itemService;
+    private final RequestService requestService;
+    private final NotificationService notificationService;
+    private final AsyncTaskExecutor executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long timeoutMs;
+
+    public DashboardService(ItemService itemService,
+                            RequestService requestService,
+                            NotificationService notificationService,
+                            @Qualifier(DashboardConfig.DASHBOARD_EXECUTOR) AsyncTaskExecutor executor,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${gotyourback.dashboard.timeout-ms}") long timeoutMs) {
+        this.itemService = itemService;
+        this.requestService = requestService;
+        this.notificationService = notificationService;
+        this.executor = executor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.timeoutMs = timeoutMs;
+    }
+
+    public DashboardSummaryDto getSummary(Long userId) {
+        long start = System.nanoTime();
+        List<Section<?>> sections = new ArrayList<>();
+        Section<List<ItemDto>> items = start(sections, "items", () -> itemService.getItemsByOwnerId(userId));
+        Section<List<RequestDto>> sent = start(sections, "sentRequests",
+                () -> requestService.getRequestsByRequesterId(userId));
+        Section<List<RequestDto>> received = start(sections, "receivedRequests",
+                () -> requestService.getReceivedRequests(userId));
+        Section<List<RequestDto>> accepted = start(sections, "acceptedRequests",
+                () -> requestService.getAcceptedRequestsForUser(userId));
+        Section<List<ItemDto>> sold = start(sections, "soldItems", () -> itemService.getSoldItemsByOwnerId(userId));
+        Section<List<ItemDto>> lent = start(sections, "lentItems", () -> itemService.getLentItemsByOwnerId(userId));
+        Section<Long> unread = start(sections, "unreadNotifications",
+                () -> notificationService.getUnreadCount(userId));
+
+        awaitAll(sections);
+
+        Map<String, Long> timings = new LinkedHashMap<>();
+        sections.forEach(section -> timings.put(section.name, TimeUnit.NANOSECONDS.toMillis(section.elapsedNanos)));
+
+        DashboardSummaryDto summary = new DashboardSummaryDto();
+        summary.setUserId(userId);
+        summary.setItems(items.result.join());
+        summary.setSentRequests(sent.result.join());
+        summary.setReceivedRequests(received.result.join());
+        summary.setAcceptedRequests(accepted.result.join());
+        summary.setSoldItems(sold.result.join());
+        summary.setLentItems(lent.result.join());
+        summary.setUnreadNotifications(unread.result.join());
+        summary.setTimingsMs(timings);
+        summary.setTotalMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return summary;
+    }
+
+    private <T> Section<T> start(List<Section<?>> sections, String name, Supplier<T> read) {
+        Section<T> section = new Section<>(name);
+        section.result = CompletableFuture.supplyAsync(() -> {
+            long sectionStart = System.nanoTime();
+            try {
+                return readOnlyTransaction.execute(status -> read.get());
+            } finally {
+                section.elapsedNanos = System.nanoTime() - sectionStart;
+            }
+        }, executor);
+        sections.add(section);
+        return section;
+    }
+
+    // The first failing section fails the whole summary; the rest are abandoned
+    private void awaitAll(List<Section<?>> sections) {
+        CompletableFuture<?>[] futures = sections.stream().map(section -> section.result)
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(futures).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            cancel(futures);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Dashboard section failed", e.getCause());
+        } catch (TimeoutException e) {
+            cancel(futures);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Dashboard summary timed out");
+        } catch (InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Dashboard summary interrupted");
+        }
+    }
+
+    private static void cancel(CompletableFuture<?>[] futures) {
+        for (CompletableFuture<?> future : futures) {
+            future.cancel(false);
+        }
+    }
+
+    private static final class Section<T> {
+        private final String name;
+        private CompletableFuture<T> result;
+        private volatile long elapsedNanos;
+
+        private Section(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.gotyourback.service;
+
+import com.gotyourback.config.ImageConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Stores uploaded item images on local disk and derives smaller variants for
+ * the browse grid. The original is written before the upload returns; the
+ * variants are produced on the image executor, and until one exists requests
+ * for it fall back to the original.
+ *
+ * Layout: {storage-dir}/{variant}/{uuid}.{ext}. Files are never modified once
+ * moved into place, so every path can be cached indefinitely.
+ */
+@Service
+@Slf4j
+public class ImageStorageService {
+
+    public enum Variant {
+        ORIGINAL(0),
+        MEDIUM(1024),
+        THUMB(400);
+
+        private final int maxDimension;
+
+        Variant(int maxDimension) {
+            this.maxDimension = maxDimension;
+        }
+
+        public String pathName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Optional<Variant> fromPathName(String pathName) {
+            return Arrays.stream(values()).filter(variant -> variant.pathName().equals(pathName)).findFirst();
+        }
+    }
+
+    public record StoredImage(Path path, Variant variant, String contentType) {
+    }
+
+    private enum Format {
+        JPEG("jpg", "image/jpeg", "jpg"),
+        PNG("png", "image/png", "png"),
+        GIF("gif", "image/gif", "gif"),
+        // ImageIO has no WebP codec, so WebP uploads are served as uploaded
+        WEBP("webp", "image/webp", null);
+
+        private final String extension;
+        private final String contentType;
+        private final String writerName;
+
+        Format(String extension, String contentType, String writerName) {
+            this.extension = extension;
+            this.contentType = contentType;
+            this.writerName = writerName;
+        }
+
+        static Optional<Format> fromExtension(String extension) {
+            return Arrays.stream(values()).filter(format -> format.extension.equals(extension)).findFirst();
+        }
+    }
+
+    private static final Pattern IMAGE_ID = Pattern.compile("[0-9a-f]{8}(-[0-9a-f]{4}){3}-[0-9a-f]{12}\\.(jpg|png|gif|webp)");
+
+    // Refuse to decode images whose pixel buffer alone would take hundreds of megabytes
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    private final Path storageDir;
+    private final AsyncTaskExecutor executor;
+
+    public ImageStorageService(@Value("${gotyourback.images.storage-dir}") String storageDir,
+                               @Qualifier(ImageConfig.IMAGE_EXECUTOR) AsyncTaskExecutor executor) throws IOException {
+        this.storageDir = Path.of(storageDir).toAbsolutePath().normalize();
+        this.executor = executor;
+        for (Variant variant : Variant.values()) {
+            Files.createDirectories(this.storageDir.resolve(variant.pathName()));
+        }
+    }
+
+    public String store(MultipartFile file) throws IOException {
+        Format format = detectFormat(file)
+                .orElseThrow(() -> new IllegalArgumentException("Only JPEG, PNG, GIF and WebP images can be uploaded"));
+        String id = UUID.randomUUID() + "." + format.extension;
+
+        Path upload = Files.createTempFile(storageDir, "upload-", ".tmp");
+        try {
+            file.transferTo(upload);
+            Files.move(upload, path(Variant.ORIGINAL, id), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+
+        if (format.writerName != null) {
+            try {
+                executor.execute(() -> createVariants(id, format));
+            } catch (TaskRejectedException e) {
+                log.warn("Resize queue is full; image {} is served without variants", id);
+            }
+        }
+        return id;
+    }
+
+    // The requested variant, or the original while the variant is still being generated
+    public Optional<StoredImage> find(String id, Variant variant) {
+        if (!IMAGE_ID.matcher(id).matches()) {
+            return Optional.empty();
+        }
+        String contentType = Format.fromExtension(id.substring(id.lastIndexOf('.') + 1))
+                .map(format -> format.contentType)
+                .orElseThrow();
+        Path requested = path(variant, id);
+        if (Files.isRegularFile(requested)) {
+            return Optional.of(new StoredImage(requested, variant, contentType));
+        }
+        Path original = path(Variant.ORIGINAL, id);
+        if (Files.isRegularFile(original)) {
+            return Optional.of(new StoredImage(original, Variant.ORIGINAL, contentType));
+        }
+        return Optional.empty();
+    }
+
+    private void createVariants(String id, Format format) {
+        Path original = path(Variant.ORIGINAL, id);
+        try {
+            BufferedImage image = read(original);
+            if (image == null) {
+                log.warn("Image {} could not be decoded; no variants created", id);
+                return;
+            }
+            for (Variant variant : new Variant[]{Variant.MEDIUM, Variant.THUMB}) {
+                writeVariant(original, image, variant, id, format);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not create variants for image {}", id, e);
+        }
+    }
+
+    private static BufferedImage read(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void writeVariant(Path original, BufferedImage image, Variant variant, String id, Format format)
+            throws IOException {
+        Path tmp = Files.createTempFile(storageDir, variant.pathName() + "-", ".tmp");
+        try {
+            if (Math.max(image.getWidth(), image.getHeight()) <= variant.maxDimension) {
+                // Already small enough: the variant is a copy, so it still gets its own long-lived URL
+                Files.copy(original, tmp, StandardCopyOption.REPLACE_EXISTING);
+            } else if (!ImageIO.write(resize(image, variant.maxDimension, format), format.writerName, tmp.toFile())) {
+                throw new IOException("No " + format.writerName + " writer available");
+            }
+            Files.move(tmp, path(variant, id), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // Halving in bilinear steps keeps large photos from aliasing the way a single big reduction does
+    private static BufferedImage resize(BufferedImage image, int maxDimension, Format format) {
+        double scale = (double) maxDimension / Math.max(image.getWidth(), image.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        // JPEG has no alpha channel
+        int type = format == Format.JPEG ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    // Trust the file's magic bytes, not the client's Content-Type or file name
+    private static Optional<Format> detectFormat(MultipartFile file) throws IOException {
+        byte[] header = new byte[12];
+        int read;
+        try (InputStream in = file.getInputStream()) {
+            read = in.readNBytes(header, 0, header.length);
+        }
+        if (read >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return Optional.of(Format.JPEG);
+        }
+        if (read >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G') {
+            return Optional.of(Format.PNG);
+        }
+        if (read >= 6 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8') {
+            return Optional.of(Format.GIF);
+        }
+        if (read >= 12 && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return Optional.of(Format.WEBP);
+        }
+        return Optional.empty();
+    }
+
+    private Path path(Variant variant, String id) {
+        return storageDir.resolve(variant.pathName()).resolve(id);
+    }
+}
@@ -0,0 +1,310 @@
+package com.gotyourback.service;
+
+import com.gotyourback.dto.CursorPage;
+import com.gotyourback.dto.PageCursor;
+import com.gotyourback.model.Item;
+import com.gotyourback.model.Item.ItemStatus;
+import com.gotyourback.model.Item.ItemType;
+import com.gotyourback.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory inverted index over item name, description and category.
+ * Keyword searches are answered from the postings here instead of a
+ * {@code like '%keyword%'} scan over the items table. Every query token must
+ * match, either as the prefix of a word in any of the three fields or
+ * anywhere inside a word of the name, so "book" still finds "Notebook" the
+ * way the old name scan did.
+ *
+ * Writes made inside a transaction are applied once it commits, so a
+ * rolled-back change never shows up in search results.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchIndex {
+
+    // Field weights used for ranking: a name hit counts more than a description hit
+    private static final int NAME_WEIGHT = 4;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final ItemRepository itemRepository;
+
+    // term -> (itemId -> weight)
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+
+    // Proper suffix of a name term -> itemIds, so infix matches on names become prefix lookups
+    private final ConcurrentSkipListMap<String, Set<Long>> nameSuffixes = new ConcurrentSkipListMap<>();
+
+    // itemId -> indexed snapshot, used for filtering and for removing old postings
+    private final Map<Long, IndexedItem> documents = new ConcurrentHashMap<>();
+
+    // Serializes writers; a lock rather than synchronized so waiting virtual threads don't pin their carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private record IndexedItem(String category, ItemType type, String urgency, ItemStatus status,
+                               LocalDateTime createdAt, Set<String> terms, Set<String> nameSuffixes) {
+    }
+
+    // Newest first, the same (createdAt, id) order as the keyset pages of the items table
+    private static final Comparator<Map.Entry<Long, IndexedItem>> NEWEST_FIRST =
+            Comparator.<Map.Entry<Long, IndexedItem>, LocalDateTime>comparing(entry -> entry.getValue().createdAt())
+                    .thenComparing(Map.Entry::getKey)
+                    .reversed();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        postings.clear();
+        nameSuffixes.clear();
+        documents.clear();
+        List<Item> items = itemRepository.findAll();
+        for (Item item : items) {
+            Map<String, Integer> weights = weights(item);
+            applyIndex(item.getId(), document(item, weights.keySet()), weights);
+        }
+        log.info("Item search index built with {} items and {} terms", documents.size(), postings.size());
+    }
+
+    public void index(Item item) {
+        if (item == null || item.getId() == null) {
+            return;
+        }
+        // Snapshot the item now; the entity may change again before the transaction commits
+        Long itemId = item.getId();
+        Map<String, Integer> weights = weights(item);
+        IndexedItem document = document(item, weights.keySet());
+        afterCommit(() -> applyIndex(itemId, document, weights));
+    }
+
+    public void remove(Long itemId) {
+        afterCommit(() -> {
+            writeLock.lock();
+            try {
+                removePostings(itemId);
+            } finally {
+                writeLock.unlock();
+            }
+        });
+    }
+
+    private void applyIndex(Long itemId, IndexedItem document, Map<String, Integer> weights) {
+        writeLock.lock();
+        try {
+            removePostings(itemId);
+            weights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(itemId, weight));
+            document.nameSuffixes().forEach(suffix ->
+                    nameSuffixes.computeIfAbsent(suffix, t -> ConcurrentHashMap.newKeySet()).add(itemId));
+            documents.put(itemId, document);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private IndexedItem document(Item item, Set<String> terms) {
+        Set<String> suffixes = new HashSet<>();
+        for (String term : tokenize(item.getName())) {
+            for (int start = 1; start < term.length(); start++) {
+                suffixes.add(term.substring(start));
+            }
+        }
+        // Rows without a creation time sort as the oldest, so they can still be paged past
+        LocalDateTime createdAt = item.getCreatedAt() != null ? item.getCreatedAt() : LocalDateTime.MIN;
+        return new IndexedItem(item.getCategory(), item.getType(), item.getUrgency(), item.getStatus(),
+                createdAt, terms, suffixes);
+    }
+
+    private Map<String, Integer> weights(Item item) {
+        Map<String, Integer> weights = new HashMap<>();
+        addTerms(weights, item.getName(), NAME_WEIGHT);
+        addTerms(weights, item.getCategory(), CATEGORY_WEIGHT);
+        addTerms(weights, item.getDescription(), DESCRIPTION_WEIGHT);
+        return weights;
+    }
+
+    private void removePostings(Long itemId) {
+        IndexedItem previous = documents.remove(itemId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            postings.computeIfPresent(term, (t, ids) -> {
+                ids.remove(itemId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        for (String suffix : previous.nameSuffixes()) {
+            nameSuffixes.computeIfPresent(suffix, (t, ids) -> {
+                ids.remove(itemId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    public void updateStatus(Long itemId, ItemStatus status) {
+        afterCommit(() -> {
+            // Under the write lock so a concurrent re-index of the item cannot drop the new status
+            writeLock.lock();
+            try {
+                documents.computeIfPresent(itemId, (id, doc) -> new IndexedItem(doc.category(), doc.type(),
+                        doc.urgency(), status, doc.createdAt(), doc.terms(), doc.nameSuffixes()));
+            } finally {
+                writeLock.unlock();
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Returns the ids of AVAILABLE items matching every token of the keyword,
+     * best matches first. Ties are broken by newest item id.
+     */
+    public List<Long> search(String keyword, String category, ItemType type, String urgency) {
+        Map<Long, Integer> scores = score(keyword);
+
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+            IndexedItem doc = documents.get(entry.getKey());
+            if (doc != null && matchesFilters(doc, category, type, urgency)) {
+                ranked.add(entry);
+            }
+        }
+        ranked.sort(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+
+        List<Long> ids = new ArrayList<>(ranked.size());
+        ranked.forEach(entry -> ids.add(entry.getKey()));
+        return ids;
+    }
+
+    /**
+     * Returns one keyset page of the ids of AVAILABLE items matching every
+     * token of the keyword. Unlike {@link #search}, matches are ordered
+     * newest first by {@code (createdAt, id)}, so the cursor continues the
+     * same way as the unfiltered item pages do.
+     */
+    public CursorPage<Long> searchPage(String keyword, String category, ItemType type, String urgency,
+                                       PageCursor after, int limit) {
+        Map<Long, Integer> scores = score(keyword);
+
+        List<Map.Entry<Long, IndexedItem>> matches = new ArrayList<>();
+        for (Long id : scores.keySet()) {
+            IndexedItem doc = documents.get(id);
+            if (doc != null && matchesFilters(doc, category, type, urgency) && isAfter(id, doc, after)) {
+                matches.add(Map.entry(id, doc));
+            }
+        }
+        matches.sort(NEWEST_FIRST);
+
+        List<Map.Entry<Long, IndexedItem>> rows = matches.subList(0, Math.min(matches.size(), limit + 1));
+        return CursorPage.of(rows, limit, entry -> entry.getValue().createdAt(), Map.Entry::getKey, Map.Entry::getKey);
+    }
+
+    private boolean isAfter(Long id, IndexedItem doc, PageCursor after) {
+        if (after == null) {
+            return true;
+        }
+        int byTime = doc.createdAt().compareTo(after.getTimestamp());
+        return byTime < 0 || (byTime == 0 && id < after.getId());
+    }
+
+    // itemId -> summed score for the items matching every token of the keyword
+    private Map<Long, Integer> score(String keyword) {
+        List<String> queryTerms = new ArrayList<>(tokenize(keyword));
+        if (queryTerms.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Integer> scores = null;
+        for (String term : queryTerms) {
+            Map<Long, Integer> termScores = new HashMap<>();
+            ConcurrentNavigableMap<String, Map<Long, Integer>> matches =
+                    postings.subMap(term, true, term + Character.MAX_VALUE, false);
+            for (Map.Entry<String, Map<Long, Integer>> entry : matches.entrySet()) {
+                // Exact term matches rank above prefix matches
+                int bonus = entry.getKey().equals(term) ? 1 : 0;
+                entry.getValue().forEach((id, weight) -> termScores.merge(id, weight * 2 + bonus, Math::max));
+            }
+            // A hit inside a name word ranks below a word-prefix hit in the name
+            nameSuffixes.subMap(term, true, term + Character.MAX_VALUE, false).values()
+                    .forEach(ids -> ids.forEach(id -> termScores.merge(id, NAME_WEIGHT, Math::max)));
+
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                Map<Long, Integer> previous = scores;
+                scores = new HashMap<>();
+                for (Map.Entry<Long, Integer> entry : termScores.entrySet()) {
+                    Integer score = previous.get(entry.getKey());
+                    if (score != null) {
+                        scores.put(entry.getKey(), score + entry.getValue());
+                    }
+                }
+            }
+            if (scores.isEmpty()) {
+                return Map.of();
+            }
+        }
+        return scores;
+    }
+
+    private boolean matchesFilters(IndexedItem doc, String category, ItemType type, String urgency) {
+        return doc.status() == ItemStatus.AVAILABLE
+                && (category == null || category.equals(doc.category()))
+                && (type == null || type == doc.type())
+                && (urgency == null || urgency.equals(doc.urgency()));
+    }
+
+    private void addTerms(Map<String, Integer> weights, String text, int weight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Integer::sum);
+        }
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+}
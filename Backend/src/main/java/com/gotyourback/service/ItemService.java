@@ -1,5 +1,6 @@
 package com.gotyourback.service;
 
+import com.gotyourback.dto.CursorPage;
 import com.gotyourback.dto.ItemDto;
 import com.gotyourback.model.Item.ItemStatus;
 import com.gotyourback.model.Item.ItemType;
@@ -12,6 +13,9 @@ public interface ItemService {
     
     List<ItemDto> getAllItems(String category, ItemType type, String urgency, String keyword);
     
+    CursorPage<ItemDto> getItemsPage(String category, ItemType type, String urgency, String keyword,
+                                    String cursor, Integer limit);
+    
     ItemDto updateItem(Long id, ItemDto itemDto);
     
     void deleteItem(Long id);
@@ -0,0 +1,101 @@
+package com.gotyourback.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.gotyourback.dto.AuthenticatedUser;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Issues and verifies the HS256 access tokens handed out at login. The key
+ * and parser are built once; verified tokens are remembered until they
+ * expire, so a client polling with the same token pays for the HMAC check
+ * and claim parsing only on its first request.
+ */
+@Service
+public class JwtService {
+
+    private static final String NAME_CLAIM = "name";
+    private static final String EMAIL_CLAIM = "email";
+
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final Duration tokenTtl;
+    private final Cache<String, AuthenticatedUser> verifiedTokens;
+
+    public JwtService(@Value("${gotyourback.auth.jwt-secret}") String secret,
+                      @Value("${gotyourback.auth.token-ttl}") Duration tokenTtl,
+                      @Value("${gotyourback.auth.verified-token-cache-size}") long verifiedTokenCacheSize) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("gotyourback.auth.jwt-secret is not set; set JWT_SECRET to at least 32 random bytes");
+        }
+        // Rejects secrets shorter than 256 bits at startup
+        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.tokenTtl = tokenTtl;
+        // A cached entry never outlives its token
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(Expiry.creating((String token, AuthenticatedUser user) ->
+                        Duration.between(Instant.now(), user.expiresAt())))
+                .recordStats()
+                .build();
+    }
+
+    public String issue(Long userId, String name, String email) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setSubject(String.valueOf(userId))
+                .claim(NAME_CLAIM, name)
+                .claim(EMAIL_CLAIM, email)
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(tokenTtl)))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * @throws JwtException if the token is malformed, badly signed or expired
+     */
+    public AuthenticatedUser verify(String token) {
+        AuthenticatedUser cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            throw new JwtException("Token has no subject or expiry");
+        }
+        AuthenticatedUser user;
+        try {
+            user = new AuthenticatedUser(Long.valueOf(claims.getSubject()), claims.get(NAME_CLAIM, String.class),
+                    claims.get(EMAIL_CLAIM, String.class), claims.getExpiration().toInstant());
+        } catch (NumberFormatException e) {
+            throw new JwtException("Token subject is not a user id", e);
+        }
+        verifiedTokens.put(token, user);
+        return user;
+    }
+
+    public CacheStats verifiedTokenStats() {
+        return verifiedTokens.stats();
+    }
+
+    public long verifiedTokenCount() {
+        return verifiedTokens.estimatedSize();
+    }
+}
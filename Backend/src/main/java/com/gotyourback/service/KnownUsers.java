@@ -0,0 +1,44 @@
+package com.gotyourback.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gotyourback.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Answers whether the user a token was issued to still exists. A token stays
+ * valid after its account is deleted, so every authenticated request asks;
+ * existing users are remembered for a short while to keep that off the
+ * database, and a deleted account is turned away once its entry expires.
+ */
+@Component
+public class KnownUsers {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Boolean> existing;
+
+    public KnownUsers(UserRepository userRepository,
+                      @Value("${gotyourback.auth.known-user-ttl}") Duration ttl,
+                      @Value("${gotyourback.auth.known-user-cache-size}") long maxSize) {
+        this.userRepository = userRepository;
+        this.existing = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public boolean exists(Long userId) {
+        if (existing.getIfPresent(userId) != null) {
+            return true;
+        }
+        // Only hits are remembered; a token for a missing user is rejected, so misses are rare
+        boolean exists = userRepository.existsById(userId);
+        if (exists) {
+            existing.put(userId, Boolean.TRUE);
+        }
+        return exists;
+    }
+}
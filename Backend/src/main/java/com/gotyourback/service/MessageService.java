@@ -1,20 +1,31 @@
 package com.gotyourback.service;
 
+import com.gotyourback.dto.ConversationSummaryDto;
+import com.gotyourback.dto.CursorPage;
 import com.gotyourback.dto.MessageDto;
+import com.gotyourback.dto.PageCursor;
+import com.gotyourback.exception.UnauthorizedAccessException;
 import com.gotyourback.model.Message;
 import com.gotyourback.model.Request;
 import com.gotyourback.model.User;
 import com.gotyourback.model.Notification;
+import com.gotyourback.repository.ConversationSummaryRepository;
 import com.gotyourback.repository.MessageRepository;
 import com.gotyourback.repository.RequestRepository;
-import com.gotyourback.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Slf4j
 public class MessageService {
     @Autowired
     private MessageRepository messageRepository;
@@ -23,23 +34,29 @@ public class MessageService {
     private RequestRepository requestRepository;
     
     @Autowired
-    private UserRepository userRepository;
+    private NotificationService notificationService;
     
     @Autowired
-    private NotificationService notificationService;
+    private ConversationSocketRegistry socketRegistry;
+    
+    @Autowired
+    private ConversationSummaryRepository conversationSummaryRepository;
+
+    @Autowired
+    private CurrentUser currentUser;
 
+    // Sent over HTTP by the signed-in user
+    @Transactional
+    public MessageDto sendMessage(Long requestId, String content) {
+        return sendMessage(currentUser.id(), requestId, content);
+    }
+
+    // Sent on a chat socket by the user it was opened for
+    @Transactional
     public MessageDto sendMessage(Long senderId, Long requestId, String content) {
-        Request request = requestRepository.findById(requestId)
-            .orElseThrow(() -> new RuntimeException("Request not found"));
-            
-        // Only allow messaging if request is accepted or done
-        if (request.getStatus() != Request.RequestStatus.ACCEPTED && 
-            request.getStatus() != Request.RequestStatus.DONE) {
-            throw new RuntimeException("Cannot send messages for non-accepted requests");
-        }
+        Request request = findOpenConversation(requestId);
         
-        User sender = userRepository.findById(senderId)
-            .orElseThrow(() -> new RuntimeException("Sender not found"));
+        User sender = currentUser.actingAs(senderId, () -> new RuntimeException("Sender not found"));
             
         // Determine receiver (if sender is requester, receiver is item owner, and vice versa)
         User receiver = sender.getId().equals(request.getRequester().getId()) 
@@ -54,27 +71,105 @@ public class MessageService {
         message.setSentAt(LocalDateTime.now());
         
         message = messageRepository.save(message);
+        conversationSummaryRepository.recordMessage(message);
         
         // Create notification for receiver
-        notificationService.createNotification(
+        notificationService.enqueueNotification(
             receiver.getId(),
             Notification.NotificationType.MESSAGE_RECEIVED,
-            "New message from " + sender.getName() + " about '" + request.getItem().getName() + "'",
+            "New message from " + currentUser.nameOf(sender) + " about '" + request.getItem().getName() + "'",
             request.getItem().getId(),
             request.getId(),
             message.getId()
         );
         
-        return convertToDto(message);
+        // Push to the participants' open chat sockets once the message is committed. The message is
+        // saved by then, so a failed push must not turn into an error response that invites a resend
+        MessageDto dto = convertToDto(message);
+        afterCommit(() -> {
+            try {
+                socketRegistry.publishMessage(dto);
+            } catch (RuntimeException e) {
+                log.warn("Could not push message {} to chat sockets", dto.getId(), e);
+            }
+        });
+        return dto;
+    }
+
+    // Same rules as sending: the user must be on the request and it must be accepted or done
+    @Transactional(readOnly = true)
+    public void checkConversationAccess(Long requestId, Long userId) {
+        requireParticipant(findOpenConversation(requestId), userId);
+    }
+
+    private void requireParticipant(Request request, Long userId) {
+        if (!userId.equals(request.getRequester().getId()) && !userId.equals(request.getItem().getOwner().getId())) {
+            throw new UnauthorizedAccessException("Not a participant in this conversation");
+        }
+    }
+
+    // Earlier messages stay readable to both sides after the deal is closed
+    private void requireParticipant(Long requestId) {
+        Request request = requestRepository.findById(requestId)
+            .orElseThrow(() -> new RuntimeException("Request not found"));
+        requireParticipant(request, currentUser.id());
+    }
+
+    private Request findOpenConversation(Long requestId) {
+        Request request = requestRepository.findById(requestId)
+            .orElseThrow(() -> new RuntimeException("Request not found"));
+            
+        // Only allow messaging if request is accepted or done
+        if (request.getStatus() != Request.RequestStatus.ACCEPTED && 
+            request.getStatus() != Request.RequestStatus.DONE) {
+            throw new RuntimeException("Cannot send messages for non-accepted requests");
+        }
+        return request;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     public List<MessageDto> getMessagesByRequestId(Long requestId) {
+        requireParticipant(requestId);
         List<Message> messages = messageRepository.findByRequestId(requestId);
         return messages.stream()
             .map(this::convertToDto)
             .collect(Collectors.toList());
     }
 
+    // "Load older messages": the page before the cursor, newest first
+    public CursorPage<MessageDto> getMessagesPageByRequestId(Long requestId, String before, Integer limit) {
+        requireParticipant(requestId);
+        PageCursor cursor = PageCursor.decode(before);
+        int pageSize = PageCursor.clampLimit(limit);
+        List<MessageDto> rows = messageRepository.findDtoPageByRequestId(requestId,
+            cursor != null ? cursor.getTimestamp() : null,
+            cursor != null ? cursor.getId() : null,
+            PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, MessageDto::getSentAt, MessageDto::getId, Function.identity());
+    }
+
+    // One row per conversation with its last message and the user's unread count
+    public List<ConversationSummaryDto> getInbox(Long userId) {
+        return conversationSummaryRepository.findByUserId(userId);
+    }
+
+    @Transactional
+    public int markConversationRead(Long requestId) {
+        return conversationSummaryRepository.markRead(requestId, currentUser.id());
+    }
+
     public List<MessageDto> getUserMessages(Long userId) {
         List<Message> messages = messageRepository.findByUserId(userId);
         return messages.stream()
@@ -82,12 +177,22 @@ public class MessageService {
             .collect(Collectors.toList());
     }
 
+    public CursorPage<MessageDto> getUserMessagesPage(Long userId, String cursor, Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        List<Message> rows = messageRepository.findPageByUserId(userId,
+            after != null ? after.getTimestamp() : null,
+            after != null ? after.getId() : null,
+            PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, Message::getSentAt, Message::getId, this::convertToDto);
+    }
+
     private MessageDto convertToDto(Message message) {
         MessageDto dto = new MessageDto();
         dto.setId(message.getId());
         dto.setRequestId(message.getRequest().getId());
         dto.setSenderId(message.getSender().getId());
-        dto.setSenderName(message.getSender().getName());
+        dto.setSenderName(currentUser.nameOf(message.getSender()));
         dto.setReceiverId(message.getReceiver().getId());
         dto.setReceiverName(message.getReceiver().getName());
         dto.setContent(message.getContent());
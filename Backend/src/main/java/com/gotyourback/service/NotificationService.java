@@ -1,5 +1,7 @@
 package com.gotyourback.service;
 
+import com.gotyourback.dto.CursorPage;
+import com.gotyourback.dto.NotificationDraft;
 import com.gotyourback.dto.NotificationDto;
 import com.gotyourback.model.Notification;
 
@@ -9,20 +11,43 @@ public interface NotificationService {
     
     NotificationDto createNotification(Long recipientId, Notification.NotificationType type, String message, 
                                       Long relatedItemId, Long relatedRequestId, Long relatedMessageId);
+
+    /**
+     * Writes the notifications right away, up to 500 per INSERT statement,
+     * and pushes them to open streams after commit. Returns them in the order
+     * of the drafts.
+     */
+    List<NotificationDto> createNotifications(List<NotificationDraft> drafts);
+    
+    /**
+     * Queues a notification in the outbox. Inside a transaction all queued
+     * notifications are written with one statement just before commit; the
+     * outbox relay delivers them to the recipient shortly after.
+     */
+    void enqueueNotification(Long recipientId, Notification.NotificationType type, String message,
+                             Long relatedItemId, Long relatedRequestId, Long relatedMessageId);
     
     List<NotificationDto> getNotificationsForUser(Long userId);
     
+    CursorPage<NotificationDto> getNotificationsPageForUser(Long userId, String cursor, Integer limit);
+    
     List<NotificationDto> getUnreadNotificationsForUser(Long userId);
     
     Long getUnreadCount(Long userId);
     
+    // Pushes the current unread count to the user's open notification streams, if any
+    void publishUnreadCount(Long userId);
+    
+    // Only the signed-in recipient may mark or delete a notification
     NotificationDto markAsRead(Long notificationId);
     
-    NotificationDto markAsRead(Long notificationId, Long userId);
+    int markAllAsRead(Long userId);
     
-    void markAllAsRead(Long userId);
+    int markAsReadByRequest(Long userId, Long requestId);
     
-    void deleteNotification(Long notificationId);
+    int markAsReadByType(Long userId, Notification.NotificationType type);
+    
+    int deleteAllForUser(Long userId);
     
-    void deleteNotification(Long notificationId, Long userId);
+    void deleteNotification(Long notificationId);
 }
@@ -0,0 +1,209 @@
+package com.gotyourback.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.gotyourback.config.NotificationStreamConfig;
+import com.gotyourback.dto.NotificationDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Tracks open Server-Sent Events connections per user and pushes notification
+ * events to them. Emitters are backed by async servlet requests, so an idle
+ * connection holds no request thread.
+ *
+ * Publishing only queues the event on each stream; the writes happen on the
+ * stream executor, one stream at a time and in order. A client that stops
+ * reading holds up only its own stream until it is dropped.
+ */
+@Component
+@Slf4j
+public class NotificationStreamRegistry {
+
+    // Browsers reconnect automatically when a stream times out
+    private static final long STREAM_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    public static final String UNREAD_COUNT_EVENT = "unread-count";
+    public static final String NOTIFICATION_EVENT = "notification";
+
+    private final Map<Long, List<Stream>> streamsByUser = new ConcurrentHashMap<>();
+    private final ObjectWriter notificationWriter;
+    private final AsyncTaskExecutor sendExecutor;
+    private final int maxPendingEvents;
+
+    public NotificationStreamRegistry(ObjectMapper objectMapper,
+                                      @Qualifier(NotificationStreamConfig.STREAM_EXECUTOR) AsyncTaskExecutor sendExecutor,
+                                      @Value("${gotyourback.notifications.stream.max-pending-events}") int maxPendingEvents) {
+        this.notificationWriter = objectMapper.writerFor(NotificationDto.class);
+        this.sendExecutor = sendExecutor;
+        this.maxPendingEvents = maxPendingEvents;
+    }
+
+    public SseEmitter subscribe(Long userId, long unreadCount) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        Stream stream = new Stream(userId, emitter);
+        streamsByUser.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>()).add(stream);
+
+        emitter.onCompletion(stream::close);
+        emitter.onTimeout(stream::close);
+        emitter.onError(error -> stream.close());
+
+        stream.enqueue(SseEmitter.event().name(UNREAD_COUNT_EVENT).data(unreadCount));
+        return emitter;
+    }
+
+    public boolean hasSubscribers(Long userId) {
+        List<Stream> streams = streamsByUser.get(userId);
+        return streams != null && !streams.isEmpty();
+    }
+
+    // Serialized once and written as-is to each of the user's streams instead of once per stream
+    public void publishNotification(NotificationDto notification) {
+        if (!hasSubscribers(notification.getRecipientId())) {
+            return;
+        }
+        String json;
+        try {
+            json = notificationWriter.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize notification {}", notification.getId(), e);
+            return;
+        }
+        forEachStream(notification.getRecipientId(),
+                () -> SseEmitter.event().name(NOTIFICATION_EVENT).data(json, MediaType.APPLICATION_JSON));
+    }
+
+    public void publishUnreadCount(Long userId, long unreadCount) {
+        forEachStream(userId, () -> SseEmitter.event().name(UNREAD_COUNT_EVENT).data(unreadCount));
+    }
+
+    public int getConnectionCount() {
+        return streamsByUser.values().stream().mapToInt(List::size).sum();
+    }
+
+    // Comment lines keep idle connections open through proxies and flush out dead clients
+    @Scheduled(fixedRate = 25000)
+    public void heartbeat() {
+        streamsByUser.values().forEach(streams -> streams.forEach(stream -> {
+            // A stream with events still queued is not idle and gets no keep-alive on top
+            if (stream.isIdle()) {
+                stream.enqueue(SseEmitter.event().comment("keep-alive"));
+            }
+        }));
+    }
+
+    private void forEachStream(Long userId, Supplier<SseEmitter.SseEventBuilder> event) {
+        List<Stream> streams = streamsByUser.get(userId);
+        if (streams == null) {
+            return;
+        }
+        streams.forEach(stream -> stream.enqueue(event.get()));
+    }
+
+    private void unsubscribe(Stream stream) {
+        streamsByUser.computeIfPresent(stream.userId, (id, streams) -> {
+            streams.remove(stream);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    // One open connection and the events waiting to be written to it
+    private final class Stream {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Stream(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        boolean isIdle() {
+            return pendingCount.get() == 0;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPendingEvents) {
+                drop(new IllegalStateException(maxPendingEvents + " events pending"));
+                return;
+            }
+            pending.add(event);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sendExecutor.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                draining.set(false);
+                drop(e);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        drop(e);
+                        return;
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            // An event queued after the last poll but before the flag was cleared would otherwise wait
+            if (!closed.get() && !pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                pending.clear();
+                unsubscribe(this);
+            }
+        }
+
+        private void drop(Exception cause) {
+            if (closed.get()) {
+                return;
+            }
+            log.debug("Dropping notification stream for user {}: {}", userId, cause.getMessage());
+            close();
+            emitter.completeWithError(cause);
+        }
+    }
+}
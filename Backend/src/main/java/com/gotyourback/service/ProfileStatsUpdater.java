@@ -0,0 +1,98 @@
+package com.gotyourback.service;
+
+import com.gotyourback.dto.RequestDto;
+import com.gotyourback.model.Item;
+import com.gotyourback.model.Item.ItemType;
+import com.gotyourback.model.Request;
+import com.gotyourback.model.Request.RequestStatus;
+import com.gotyourback.model.RequestState;
+import com.gotyourback.repository.UserStatsRepository;
+import com.gotyourback.repository.UserStatsRepository.Counter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps the user_stats counters in step with the item and request workflows.
+ * Every update runs in the caller's transaction, so the counters commit or
+ * roll back together with the change they describe.
+ *
+ * <ul>
+ *   <li>total listings: items the user owns</li>
+ *   <li>active requests: the user's requests that are pending or accepted</li>
+ *   <li>completed deals: the user's requests that are done</li>
+ *   <li>items lent: lend deals where the user handed over an item</li>
+ *   <li>items sold: sales of the user's items that went through</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class ProfileStatsUpdater {
+
+    private final UserStatsRepository userStatsRepository;
+
+    public void itemCreated(Long ownerId) {
+        userStatsRepository.add(ownerId, Counter.TOTAL_LISTINGS, 1);
+    }
+
+    // Deleting an item cascades to its requests, so their contributions are taken back too
+    public void itemDeleted(Item item, List<Request> requests) {
+        Long ownerId = item.getOwner().getId();
+        userStatsRepository.add(ownerId, Counter.TOTAL_LISTINGS, -1);
+        for (Request request : requests) {
+            Long requesterId = request.getRequester().getId();
+            if (isActive(request.getState())) {
+                userStatsRepository.add(requesterId, Counter.ACTIVE_REQUESTS, -1);
+            } else if (request.getStatus() == RequestStatus.DONE) {
+                userStatsRepository.add(requesterId, Counter.COMPLETED_DEALS, -1);
+            }
+            if (item.getType() == ItemType.LEND && request.getLentAt() != null) {
+                userStatsRepository.add(ownerId, Counter.ITEMS_LENT, -1);
+            }
+            if (item.getType() == ItemType.SELL && isSale(request.getState())) {
+                userStatsRepository.add(ownerId, Counter.ITEMS_SOLD, -1);
+            }
+        }
+    }
+
+    public void requestCreated(Long requesterId) {
+        userStatsRepository.add(requesterId, Counter.ACTIVE_REQUESTS, 1);
+    }
+
+    @EventListener
+    public void onTransition(RequestTransitionEvent event) {
+        RequestDto request = event.request();
+        Long requesterId = request.getRequesterId();
+        Long ownerId = request.getItem().getOwnerId();
+        ItemType itemType = request.getItem().getType();
+
+        switch (event.action()) {
+            case REJECT -> userStatsRepository.add(requesterId, Counter.ACTIVE_REQUESTS, -1);
+            case MARK_DONE, CONFIRM_SALE -> {
+                userStatsRepository.add(requesterId, Counter.ACTIVE_REQUESTS, -1);
+                userStatsRepository.add(requesterId, Counter.COMPLETED_DEALS, 1);
+            }
+            case MARK_LENT -> {
+                if (itemType == ItemType.LEND) {
+                    userStatsRepository.add(ownerId, Counter.ITEMS_LENT, 1);
+                }
+            }
+            default -> {
+            }
+        }
+        if (itemType == ItemType.SELL && isSale(event.state())) {
+            userStatsRepository.add(ownerId, Counter.ITEMS_SOLD, 1);
+        }
+    }
+
+    private static boolean isActive(RequestState state) {
+        return state.getStatus() == RequestStatus.PENDING || state.getStatus() == RequestStatus.ACCEPTED;
+    }
+
+    // A SELL request ends as SOLD on receipt, or as COMPLETED when it went through the return flow
+    private static boolean isSale(RequestState state) {
+        return state == RequestState.SOLD || state == RequestState.COMPLETED;
+    }
+}
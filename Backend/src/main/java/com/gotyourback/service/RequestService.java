@@ -3,50 +3,55 @@ package com.gotyourback.service;
 import com.gotyourback.model.Request.RequestStatus;
 import com.gotyourback.model.Item.ItemStatus;
 import com.gotyourback.dto.RequestDto;
+import com.gotyourback.dto.CursorPage;
+import com.gotyourback.dto.PageCursor;
 import com.gotyourback.dto.ItemDto;
 import com.gotyourback.model.Request;
+import com.gotyourback.model.RequestState;
 import com.gotyourback.model.Item;
 import com.gotyourback.model.User;
 import com.gotyourback.model.Notification;
+import com.gotyourback.repository.ActiveDealRepository;
 import com.gotyourback.repository.RequestRepository;
 import com.gotyourback.repository.ItemRepository;
-import com.gotyourback.repository.UserRepository;
+import com.gotyourback.config.CacheConfig;
+import com.gotyourback.exception.StateTransitionConflictException;
+import com.gotyourback.service.RequestStateMachine.Action;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class RequestService {
 
+    private static final Set<RequestState> ACCEPTED_STATES = RequestState.withStatus(RequestStatus.ACCEPTED);
+
     private final RequestRepository requestRepository;
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final ItemSearchIndex itemSearchIndex;
+    private final CacheManager cacheManager;
+    private final RequestStateMachine requestStateMachine;
+    private final ProfileStatsUpdater profileStatsUpdater;
+    private final ActiveDealRepository activeDealRepository;
+    private final CurrentUser currentUser;
     
-    private ItemDto createItemDto(Item item) {
-        ItemDto dto = new ItemDto();
-        dto.setId(item.getId());
-        dto.setName(item.getName());
-        dto.setDescription(item.getDescription());
-        dto.setType(item.getType());
-        dto.setImageUrl(item.getImageUrl());
-        dto.setOwnerId(item.getOwner().getId());
-        dto.setOwnerName(item.getOwner().getName());
-        return dto;
-    }
-
     @Transactional
     public RequestDto createRequest(RequestDto requestDto) {
         Item item = itemRepository.findById(requestDto.getItemId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Item not found"));
                 
-        User requester = userRepository.findById(requestDto.getRequesterId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Requester not found"));
+        User requester = currentUser.actingAs(requestDto.getRequesterId(),
+                () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Requester not found"));
 
         if (item.getStatus() != ItemStatus.AVAILABLE) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Item is not available");
@@ -55,15 +60,16 @@ public class RequestService {
         Request request = new Request();
         request.setItem(item);
         request.setRequester(requester);
-        request.setStatus(RequestStatus.PENDING);
+        request.setState(RequestState.PENDING);
         
         request = requestRepository.save(request);
+        profileStatsUpdater.requestCreated(requester.getId());
         
         // Create notification for item owner
-        notificationService.createNotification(
+        notificationService.enqueueNotification(
             item.getOwner().getId(),
             Notification.NotificationType.REQUEST_CREATED,
-            requester.getName() + " has requested your item: " + item.getName(),
+            currentUser.nameOf(requester) + " has requested your item: " + item.getName(),
             item.getId(),
             request.getId(),
             null
@@ -74,188 +80,100 @@ public class RequestService {
 
     @Transactional
     public RequestDto updateRequestStatus(Long id, RequestStatus status) {
-        Request request = requestRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Request not found"));
-
-        RequestStatus oldStatus = request.getStatus();
-        request.setStatus(status);
-        if (status == RequestStatus.ACCEPTED) {
-            request.getItem().setStatus(ItemStatus.UNAVAILABLE);
-            
-            // Notify requester that their request was accepted
-            notificationService.createNotification(
-                request.getRequester().getId(),
-                Notification.NotificationType.REQUEST_ACCEPTED,
-                "Your request for '" + request.getItem().getName() + "' has been accepted",
-                request.getItem().getId(),
-                request.getId(),
-                null
-            );
-        } else if (status == RequestStatus.REJECTED) {
-            // Notify requester that their request was rejected
-            notificationService.createNotification(
-                request.getRequester().getId(),
-                Notification.NotificationType.REQUEST_REJECTED,
-                "Your request for '" + request.getItem().getName() + "' has been rejected",
-                request.getItem().getId(),
-                request.getId(),
-                null
-            );
+        RequestDto request = findRequest(id);
+        if (status == RequestStatus.DONE) {
+            requireParticipant(request, "Only the owner or the borrower can mark a request as done");
+        } else {
+            requireOwner(request, "Only the owner can accept or reject a request");
         }
-        
-        // Notify for status changes other than ACCEPTED/REJECTED (which already have specific notifications)
-        if (oldStatus != status && status != RequestStatus.ACCEPTED && status != RequestStatus.REJECTED) {
-            notificationService.createNotification(
-                request.getRequester().getId(),
-                Notification.NotificationType.REQUEST_STATUS_CHANGED,
-                "Status of your request for '" + request.getItem().getName() + "' changed to " + status,
-                request.getItem().getId(),
-                request.getId(),
-                null
-            );
+        if (request.getStatus() == status) {
+            return request;
         }
-        
-        request = requestRepository.save(request);
-        return convertToDto(request);
+
+        switch (status) {
+            case ACCEPTED -> {
+                if (request.getStatus() != RequestStatus.PENDING) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only pending requests can be accepted or rejected");
+                }
+                // Claim the item first; when two requests for one item are accepted at once only one claim succeeds
+                requireTransition(itemRepository.transitionStatus(request.getItemId(), ItemStatus.AVAILABLE, ItemStatus.UNAVAILABLE),
+                        "Item '" + request.getItem().getName() + "' is no longer available");
+                fire(request, Action.ACCEPT, "Request was updated by someone else, please refresh");
+                refreshItem(request.getItemId(), ItemStatus.UNAVAILABLE);
+            }
+            case REJECTED -> {
+                if (request.getStatus() != RequestStatus.PENDING) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only pending requests can be accepted or rejected");
+                }
+                fire(request, Action.REJECT, "Request was updated by someone else, please refresh");
+            }
+            case DONE -> {
+                return markRequestAsDone(id);
+            }
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Request cannot be moved from " + request.getStatus() + " to " + status);
+        }
+
+        return findRequest(id);
     }
 
     @Transactional
     public RequestDto markRequestAsDone(Long id) {
-        Request request = requestRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Request not found"));
+        RequestDto request = findRequest(id);
+        requireParticipant(request, "Only the owner or the borrower can mark a request as done");
 
-        request.setStatus(RequestStatus.DONE);
+        if (request.getStatus() != RequestStatus.ACCEPTED) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request must be in ACCEPTED status");
+        }
         // Don't set item back to AVAILABLE yet - wait for return confirmation
+        fire(request, Action.MARK_DONE, "Request was already completed");
         
-        // Notify both requester and owner that request is completed
-        notificationService.createNotification(
-            request.getRequester().getId(),
-            Notification.NotificationType.REQUEST_COMPLETED,
-            "Your request for '" + request.getItem().getName() + "' is completed. Please confirm return.",
-            request.getItem().getId(),
-            request.getId(),
-            null
-        );
-        
-        notificationService.createNotification(
-            request.getItem().getOwner().getId(),
-            Notification.NotificationType.REQUEST_COMPLETED,
-            "Request for your item '" + request.getItem().getName() + "' is completed. Await return confirmation.",
-            request.getItem().getId(),
-            request.getId(),
-            null
-        );
-        
-        request = requestRepository.save(request);
-        return convertToDto(request);
+        return findRequest(id);
     }
     
     @Transactional
-    public RequestDto confirmReturn(Long requestId, Long userId, boolean isBorrower) {
-        Request request = requestRepository.findById(requestId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Request not found"));
+    public RequestDto confirmReturn(Long requestId) {
+        RequestDto request = findRequest(requestId);
+        requireParticipant(request, "Only the owner or the borrower can confirm a return");
+        // The signed-in user's side of the deal decides whose return is being confirmed
+        boolean isBorrower = currentUser.id().equals(request.getRequesterId());
         
         if (request.getStatus() != RequestStatus.DONE) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request must be in DONE status");
         }
         
-        if (isBorrower) {
-            // Borrower confirms they returned the item
-            request.setBorrowerConfirmedReturn(true);
-            notificationService.createNotification(
-                request.getItem().getOwner().getId(),
-                Notification.NotificationType.REQUEST_STATUS_CHANGED,
-                request.getRequester().getName() + " confirmed returning '" + request.getItem().getName() + "'",
-                request.getItem().getId(),
-                request.getId(),
-                null
-            );
-        } else {
-            // Lender confirms they received the item back
-            request.setLenderConfirmedReturn(true);
-            notificationService.createNotification(
-                request.getRequester().getId(),
-                Notification.NotificationType.REQUEST_STATUS_CHANGED,
-                request.getItem().getOwner().getName() + " confirmed receiving '" + request.getItem().getName() + "'",
-                request.getItem().getId(),
-                request.getId(),
-                null
-            );
-        }
-        
-        // If both confirmed, update item status and completion timestamp
-        // Note: Request is already in DONE status (verified at method entry), but we keep this check
-        // to ensure both confirmations are complete before changing item availability
-        if (Boolean.TRUE.equals(request.getBorrowerConfirmedReturn()) && Boolean.TRUE.equals(request.getLenderConfirmedReturn())) {
+        // When both parties confirm at the same time exactly one of them moves the request to COMPLETED
+        RequestState state = fire(request, isBorrower ? Action.CONFIRM_BORROWER_RETURN : Action.CONFIRM_LENDER_RETURN,
+                "Return was already confirmed");
+        if (state == RequestState.COMPLETED) {
             // For SELL items, mark as SOLD; for LEND items, make available again
-            if (request.getItem().getType() == Item.ItemType.SELL) {
-                request.getItem().setStatus(ItemStatus.SOLD);
-            } else {
-                request.getItem().setStatus(ItemStatus.AVAILABLE);
-            }
-            
-            request.setCompletedAt(java.time.LocalDateTime.now());
-            
-            // Notify both parties
-            notificationService.createNotification(
-                request.getRequester().getId(),
-                Notification.NotificationType.REQUEST_STATUS_CHANGED,
-                "Item '" + request.getItem().getName() + "' return confirmed by both parties",
-                request.getItem().getId(),
-                request.getId(),
-                null
-            );
-            
-            notificationService.createNotification(
-                request.getItem().getOwner().getId(),
-                Notification.NotificationType.REQUEST_STATUS_CHANGED,
-                "Item '" + request.getItem().getName() + "' return confirmed. Item is now available again.",
-                request.getItem().getId(),
-                request.getId(),
-                null
-            );
+            updateItemStatus(request.getItemId(), request.getItem().getType() == Item.ItemType.SELL
+                    ? ItemStatus.SOLD : ItemStatus.AVAILABLE);
         }
         
-        request = requestRepository.save(request);
-        return convertToDto(request);
+        return findRequest(requestId);
     }
     
     @Transactional
-    public RequestDto markAsLent(Long requestId, Long userId) {
-        Request request = requestRepository.findById(requestId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Request not found"));
+    public RequestDto markAsLent(Long requestId) {
+        RequestDto request = findRequest(requestId);
         
-        if (!request.getItem().getOwner().getId().equals(userId)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only the owner can mark item as lent");
-        }
+        requireOwner(request, "Only the owner can mark item as lent");
         
         if (request.getStatus() != RequestStatus.ACCEPTED) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request must be in ACCEPTED status");
         }
         
-        request.setLenderMarkedAsLent(true);
-        request.setLentAt(java.time.LocalDateTime.now());
-        
-        // Notify borrower that item is ready/lent
-        notificationService.createNotification(
-            request.getRequester().getId(),
-            Notification.NotificationType.REQUEST_STATUS_CHANGED,
-            "'" + request.getItem().getName() + "' has been marked as lent by " + request.getItem().getOwner().getName() + ". Please confirm receipt.",
-            request.getItem().getId(),
-            request.getId(),
-            null
-        );
+        fire(request, Action.MARK_LENT, "Item was already marked as lent");
         
-        request = requestRepository.save(request);
-        return convertToDto(request);
+        return findRequest(requestId);
     }
     
     @Transactional
-    public RequestDto confirmReceipt(Long requestId, Long userId) {
-        Request request = requestRepository.findById(requestId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Request not found"));
+    public RequestDto confirmReceipt(Long requestId) {
+        RequestDto request = findRequest(requestId);
         
-        if (!request.getRequester().getId().equals(userId)) {
+        if (!request.getRequesterId().equals(currentUser.id())) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only the borrower can confirm receipt");
         }
         
@@ -267,80 +185,120 @@ public class RequestService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Lender must mark item as lent first");
         }
         
-        request.setBorrowerConfirmedReceipt(true);
-        request.setReceivedAt(java.time.LocalDateTime.now());
-        
-        // For SELL items, mark as DONE and SOLD immediately after receipt confirmation
+        // For SELL items, mark as SOLD immediately after receipt confirmation
         if (request.getItem().getType() == Item.ItemType.SELL) {
-            request.setStatus(RequestStatus.DONE);
-            request.getItem().setStatus(ItemStatus.SOLD);
-            request.setCompletedAt(java.time.LocalDateTime.now());
-            
-            // Notify both parties that transaction is complete
-            notificationService.createNotification(
-                request.getItem().getOwner().getId(),
-                Notification.NotificationType.REQUEST_COMPLETED,
-                "'" + request.getItem().getName() + "' has been sold to " + request.getRequester().getName(),
-                request.getItem().getId(),
-                request.getId(),
-                null
-            );
-            
-            notificationService.createNotification(
-                request.getRequester().getId(),
-                Notification.NotificationType.REQUEST_COMPLETED,
-                "You have purchased '" + request.getItem().getName() + "'. Transaction complete.",
-                request.getItem().getId(),
-                request.getId(),
-                null
-            );
+            fire(request, Action.CONFIRM_SALE, "Receipt was already confirmed");
+            updateItemStatus(request.getItemId(), ItemStatus.SOLD);
         } else {
-            // For LEND items, just notify owner that borrower confirmed receipt
-            notificationService.createNotification(
-                request.getItem().getOwner().getId(),
-                Notification.NotificationType.REQUEST_STATUS_CHANGED,
-                request.getRequester().getName() + " confirmed receiving '" + request.getItem().getName() + "'",
-                request.getItem().getId(),
-                request.getId(),
-                null
-            );
+            fire(request, Action.CONFIRM_RECEIPT, "Receipt was already confirmed");
         }
         
-        request = requestRepository.save(request);
-        return convertToDto(request);
+        return findRequest(requestId);
     }
 
     public List<RequestDto> getRequestsByRequesterId(Long userId) {
-        return requestRepository.findByRequesterId(userId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return requestRepository.findDtosByRequesterId(userId);
     }
 
     public List<RequestDto> getReceivedRequests(Long userId) {
-        return requestRepository.findByItem_OwnerId(userId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return requestRepository.findDtosByItemOwnerId(userId);
+    }
+
+    public CursorPage<RequestDto> getRequestsPageByRequesterId(Long userId, String cursor, Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        List<RequestDto> rows = requestRepository.findDtoPageByRequesterId(userId,
+                after != null ? after.getTimestamp() : null,
+                after != null ? after.getId() : null,
+                PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, RequestDto::getCreatedAt, RequestDto::getId, Function.identity());
     }
 
+    public CursorPage<RequestDto> getReceivedRequestsPage(Long userId, String cursor, Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        List<RequestDto> rows = requestRepository.findDtoPageByItemOwnerId(userId,
+                after != null ? after.getTimestamp() : null,
+                after != null ? after.getId() : null,
+                PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, RequestDto::getCreatedAt, RequestDto::getId, Function.identity());
+    }
+
+    // Deals the user takes part in as requester or item owner, newest first
     public List<RequestDto> getAcceptedRequestsForUser(Long userId) {
-        List<Request> requests = requestRepository.findByRequesterIdAndStatus(userId, RequestStatus.ACCEPTED);
-        requests.addAll(requestRepository.findByItem_OwnerIdAndStatus(userId, RequestStatus.ACCEPTED));
-        return requests.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return activeDealRepository.findByUserId(userId, ACCEPTED_STATES);
+    }
+
+    public CursorPage<RequestDto> getAcceptedRequestsPage(Long userId, String cursor, Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        List<RequestDto> rows = activeDealRepository.findPageByUserId(userId, ACCEPTED_STATES,
+                after != null ? after.getTimestamp() : null,
+                after != null ? after.getId() : null,
+                pageSize + 1);
+        return CursorPage.of(rows, pageSize, RequestDto::getCreatedAt, RequestDto::getId, Function.identity());
     }
     
-    private RequestDto convertToDto(Request request) {
+    private RequestDto findRequest(Long id) {
+        return requestRepository.findDtoById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Request not found"));
+    }
+
+    private void requireOwner(RequestDto request, String message) {
+        if (!currentUser.id().equals(request.getItem().getOwnerId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, message);
+        }
+    }
+
+    private void requireParticipant(RequestDto request, String message) {
+        Long userId = currentUser.id();
+        if (!userId.equals(request.getRequesterId()) && !userId.equals(request.getItem().getOwnerId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, message);
+        }
+    }
+
+    // The transition touches no rows when a concurrent call already moved the request on
+    private RequestState fire(RequestDto request, Action action, String conflictMessage) {
+        return requestStateMachine.fire(request, action)
+                .orElseThrow(() -> new StateTransitionConflictException(conflictMessage));
+    }
+
+    // Conditional updates touch no rows when a concurrent call already moved the item on
+    private void requireTransition(int updatedRows, String message) {
+        if (updatedRows == 0) {
+            throw new StateTransitionConflictException(message);
+        }
+    }
+    
+    private void updateItemStatus(Long itemId, ItemStatus status) {
+        itemRepository.updateStatus(itemId, status);
+        refreshItem(itemId, status);
+    }
+
+    private void refreshItem(Long itemId, ItemStatus status) {
+        itemSearchIndex.updateStatus(itemId, status);
+        evictItemDto(itemId);
+    }
+    
+    private void evictItemDto(Long itemId) {
+        Cache cache = cacheManager.getCache(CacheConfig.ITEM_DTOS);
+        if (cache != null) {
+            cache.evict(itemId);
+        }
+    }
+    
+    RequestDto convertToDto(Request request) {
         RequestDto dto = new RequestDto();
         dto.setId(request.getId());
         dto.setItemId(request.getItem().getId());
         dto.setRequesterId(request.getRequester().getId());
+        dto.setState(request.getState());
         dto.setStatus(request.getStatus());
         dto.setCreatedAt(request.getCreatedAt());
         
-        // Set requester details
-        dto.setRequesterName(request.getRequester().getName());
-        dto.setRequesterEmail(request.getRequester().getEmail());
+        // Set requester details, from the token when the requester is the caller
+        dto.setRequesterName(currentUser.nameOf(request.getRequester()));
+        dto.setRequesterEmail(currentUser.emailOf(request.getRequester()));
         
         // Set owner details from the item
         User owner = request.getItem().getOwner();
@@ -348,20 +306,17 @@ public class RequestService {
         dto.setOwnerEmail(owner.getEmail());
         
         // Set return confirmation fields
-        dto.setBorrowerConfirmedReturn(request.getBorrowerConfirmedReturn());
-        dto.setLenderConfirmedReturn(request.getLenderConfirmedReturn());
-        dto.setLenderMarkedAsLent(request.getLenderMarkedAsLent());
-        dto.setBorrowerConfirmedReceipt(request.getBorrowerConfirmedReceipt());
+        dto.setBorrowerConfirmedReturn(request.getState().isBorrowerConfirmedReturn());
+        dto.setLenderConfirmedReturn(request.getState().isLenderConfirmedReturn());
+        dto.setLenderMarkedAsLent(request.getLentAt() != null);
+        dto.setBorrowerConfirmedReceipt(request.getReceivedAt() != null);
         dto.setLentAt(request.getLentAt());
         dto.setReceivedAt(request.getReceivedAt());
         dto.setCompletedAt(request.getCompletedAt());
         
         // Set full item details
-        dto.setItem(createItemDto(request.getItem()));
-        
-        // Set item details using ItemServiceImpl convertToDto
-        ItemDto itemDto = new ItemDto();
         Item item = request.getItem();
+        ItemDto itemDto = new ItemDto();
         itemDto.setId(item.getId());
         itemDto.setName(item.getName());
         itemDto.setDescription(item.getDescription());
@@ -369,16 +324,11 @@ public class RequestService {
         itemDto.setType(item.getType());
         itemDto.setUrgency(item.getUrgency());
         itemDto.setImageUrl(item.getImageUrl());
-        itemDto.setOwnerId(item.getOwner().getId());
-        itemDto.setOwnerName(item.getOwner().getName());
-        itemDto.setOwnerEmail(item.getOwner().getEmail());
+        itemDto.setOwnerId(owner.getId());
+        itemDto.setOwnerName(owner.getName());
+        itemDto.setOwnerEmail(owner.getEmail());
         dto.setItem(itemDto);
         
-        // Set creation date
-        if (request.getCreatedAt() != null) {
-            dto.setCreatedAt(request.getCreatedAt());
-        }
-        
         return dto;
     }
 }
\ No newline at end of file
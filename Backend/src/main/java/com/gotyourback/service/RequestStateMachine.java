@@ -0,0 +1,132 @@
+package com.gotyourback.service;
+
+import com.gotyourback.dto.RequestDto;
+import com.gotyourback.model.RequestState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.gotyourback.model.RequestState.*;
+
+/**
+ * Transition table for the request lifecycle. Every action is applied with a
+ * single conditional UPDATE on requests.state that also stamps the matching
+ * timestamp columns, so a concurrent caller that moved the request first makes
+ * the update touch no rows instead of being overwritten. Successful
+ * transitions are published as {@link RequestTransitionEvent}s.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestStateMachine {
+
+    public enum Action {
+        ACCEPT(Map.of(PENDING, ACCEPTED)),
+        REJECT(Map.of(PENDING, REJECTED)),
+        MARK_LENT(Map.of(ACCEPTED, LENT)),
+        CONFIRM_RECEIPT(Map.of(LENT, RECEIVED)),
+        // Sales finish as soon as the buyer has the item
+        CONFIRM_SALE(Map.of(LENT, SOLD)),
+        MARK_DONE(Map.of(ACCEPTED, DONE, LENT, DONE, RECEIVED, DONE)),
+        // Whichever party confirms the return second completes the request
+        CONFIRM_BORROWER_RETURN(Map.of(DONE, BORROWER_RETURNED, LENDER_RETURNED, COMPLETED)),
+        CONFIRM_LENDER_RETURN(Map.of(DONE, LENDER_RETURNED, BORROWER_RETURNED, COMPLETED));
+
+        private final Map<RequestState, RequestState> transitions;
+
+        Action(Map<RequestState, RequestState> transitions) {
+            this.transitions = new EnumMap<>(transitions);
+        }
+
+        public Set<RequestState> sources() {
+            return transitions.keySet();
+        }
+    }
+
+    // Columns stamped with the transition time when a request enters the state
+    private static final Map<RequestState, List<String>> STAMPED_COLUMNS = Map.of(
+            LENT, List.of("lent_at"),
+            RECEIVED, List.of("received_at"),
+            SOLD, List.of("received_at", "completed_at"),
+            COMPLETED, List.of("completed_at"));
+
+    private static final Map<Action, CompiledAction> COMPILED = new EnumMap<>(Action.class);
+
+    static {
+        for (Action action : Action.values()) {
+            COMPILED.put(action, compile(action));
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private record CompiledAction(String sql, int stampedColumns, RequestState singleTarget) {
+    }
+
+    /**
+     * Applies the action to the request and returns the state it ended up in,
+     * or empty when the request was not in one of the action's source states.
+     */
+    public Optional<RequestState> fire(RequestDto request, Action action) {
+        CompiledAction compiled = COMPILED.get(action);
+        List<Object> args = new ArrayList<>(compiled.stampedColumns() + 1);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < compiled.stampedColumns(); i++) {
+            args.add(now);
+        }
+        args.add(request.getId());
+        if (jdbcTemplate.update(compiled.sql(), args.toArray()) == 0) {
+            return Optional.empty();
+        }
+
+        // Actions with several targets read back the row this transaction just updated
+        RequestState state = compiled.singleTarget() != null
+                ? compiled.singleTarget()
+                : RequestState.valueOf(jdbcTemplate.queryForObject(
+                        "SELECT state FROM requests WHERE id = ?", String.class, request.getId()));
+        eventPublisher.publishEvent(new RequestTransitionEvent(request, action, state));
+        return Optional.of(state);
+    }
+
+    // UPDATE requests SET <column> = CASE WHEN state IN (..) THEN ? ELSE <column> END, ...,
+    //   state = CASE state WHEN 'A' THEN 'B' ... END WHERE id = ? AND state IN (..)
+    private static CompiledAction compile(Action action) {
+        Map<String, Set<RequestState>> sourcesByColumn = new LinkedHashMap<>();
+        action.transitions.forEach((from, to) -> {
+            for (String column : STAMPED_COLUMNS.getOrDefault(to, List.of())) {
+                sourcesByColumn.computeIfAbsent(column, c -> EnumSet.noneOf(RequestState.class)).add(from);
+            }
+        });
+
+        StringBuilder sql = new StringBuilder("UPDATE requests SET ");
+        sourcesByColumn.forEach((column, sources) -> sql.append(column)
+                .append(" = CASE WHEN state IN (").append(quoted(sources)).append(") THEN ? ELSE ")
+                .append(column).append(" END, "));
+        // state goes last: MySQL evaluates SET assignments left to right, so the CASEs above still see the old state
+        sql.append("state = CASE state");
+        action.transitions.forEach((from, to) ->
+                sql.append(" WHEN '").append(from.name()).append("' THEN '").append(to.name()).append('\''));
+        sql.append(" END WHERE id = ? AND state IN (").append(quoted(action.sources())).append(')');
+
+        Set<RequestState> targets = EnumSet.copyOf(action.transitions.values());
+        return new CompiledAction(sql.toString(), sourcesByColumn.size(),
+                targets.size() == 1 ? targets.iterator().next() : null);
+    }
+
+    private static String quoted(Set<RequestState> states) {
+        return states.stream().map(state -> "'" + state.name() + "'").collect(Collectors.joining(", "));
+    }
+}
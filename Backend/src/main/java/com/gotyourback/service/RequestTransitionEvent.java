@@ -0,0 +1,11 @@
+package com.gotyourback.service;
+
+import com.gotyourback.dto.RequestDto;
+import com.gotyourback.model.RequestState;
+
+/**
+ * Published inside the transaction after a request moved to a new state.
+ * The request is the snapshot loaded before the transition.
+ */
+public record RequestTransitionEvent(RequestDto request, RequestStateMachine.Action action, RequestState state) {
+}
@@ -0,0 +1,65 @@
+package com.gotyourback.service;
+
+import com.gotyourback.dto.RequestDto;
+import com.gotyourback.model.Notification.NotificationType;
+import com.gotyourback.model.RequestState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Queues the notifications for request transitions. Runs inside the
+ * transaction that fired the transition, so the outbox rows commit with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestTransitionNotifier {
+
+    private final NotificationService notificationService;
+
+    @EventListener
+    public void onTransition(RequestTransitionEvent event) {
+        RequestDto request = event.request();
+        Long requesterId = request.getRequesterId();
+        Long ownerId = request.getItem().getOwnerId();
+        String itemName = request.getItem().getName();
+
+        switch (event.action()) {
+            case ACCEPT -> notify(request, requesterId, NotificationType.REQUEST_ACCEPTED,
+                    "Your request for '" + itemName + "' has been accepted");
+            case REJECT -> notify(request, requesterId, NotificationType.REQUEST_REJECTED,
+                    "Your request for '" + itemName + "' has been rejected");
+            case MARK_LENT -> notify(request, requesterId, NotificationType.REQUEST_STATUS_CHANGED,
+                    "'" + itemName + "' has been marked as lent by " + request.getOwnerName() + ". Please confirm receipt.");
+            case CONFIRM_RECEIPT -> notify(request, ownerId, NotificationType.REQUEST_STATUS_CHANGED,
+                    request.getRequesterName() + " confirmed receiving '" + itemName + "'");
+            case CONFIRM_SALE -> {
+                notify(request, ownerId, NotificationType.REQUEST_COMPLETED,
+                        "'" + itemName + "' has been sold to " + request.getRequesterName());
+                notify(request, requesterId, NotificationType.REQUEST_COMPLETED,
+                        "You have purchased '" + itemName + "'. Transaction complete.");
+            }
+            case MARK_DONE -> {
+                notify(request, requesterId, NotificationType.REQUEST_COMPLETED,
+                        "Your request for '" + itemName + "' is completed. Please confirm return.");
+                notify(request, ownerId, NotificationType.REQUEST_COMPLETED,
+                        "Request for your item '" + itemName + "' is completed. Await return confirmation.");
+            }
+            case CONFIRM_BORROWER_RETURN -> notify(request, ownerId, NotificationType.REQUEST_STATUS_CHANGED,
+                    request.getRequesterName() + " confirmed returning '" + itemName + "'");
+            case CONFIRM_LENDER_RETURN -> notify(request, requesterId, NotificationType.REQUEST_STATUS_CHANGED,
+                    request.getOwnerName() + " confirmed receiving '" + itemName + "'");
+        }
+
+        if (event.state() == RequestState.COMPLETED) {
+            notify(request, requesterId, NotificationType.REQUEST_STATUS_CHANGED,
+                    "Item '" + itemName + "' return confirmed by both parties");
+            notify(request, ownerId, NotificationType.REQUEST_STATUS_CHANGED,
+                    "Item '" + itemName + "' return confirmed. Item is now available again.");
+        }
+    }
+
+    private void notify(RequestDto request, Long recipientId, NotificationType type, String message) {
+        notificationService.enqueueNotification(recipientId, type, message, request.getItemId(), request.getId(), null);
+    }
+}
@@ -0,0 +1,112 @@
+package com.gotyourback.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.gotyourback.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-recipient unread notification counters. A user's counter is seeded
+ * from the database on first read and then adjusted in memory as
+ * notifications are created, read and deleted. The periodic reconcile pass
+ * recounts tracked users to correct drift from races with the seed read.
+ * Counters of users who stop reading their count expire, so only recently
+ * active users are tracked and reconciled.
+ */
+@Component
+@Slf4j
+public class UnreadNotificationCounters {
+
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    private final NotificationRepository notificationRepository;
+
+    // LongAdder keeps concurrent increments for a busy recipient from contending on one cell
+    private final Cache<Long, LongAdder> counters;
+
+    @Autowired
+    public UnreadNotificationCounters(NotificationRepository notificationRepository,
+                                      @Value("${gotyourback.notifications.unread-counter.idle-expiry:30m}") Duration idleExpiry,
+                                      @Value("${gotyourback.notifications.unread-counter.max-size:100000}") long maxSize) {
+        this(notificationRepository, idleExpiry, maxSize, Ticker.systemTicker());
+    }
+
+    // The ticker lets tests move the expiry clock
+    UnreadNotificationCounters(NotificationRepository notificationRepository, Duration idleExpiry, long maxSize,
+                               Ticker ticker) {
+        this.notificationRepository = notificationRepository;
+        this.counters = Caffeine.newBuilder()
+                .expireAfterAccess(idleExpiry)
+                .maximumSize(maxSize)
+                .ticker(ticker)
+                .build();
+    }
+
+    public long get(Long userId) {
+        // The seed runs inside the cache's compute, so no counter exists for the user until it is seeded
+        // and an add arriving meanwhile is skipped rather than overwritten; reconcile fixes that drift
+        LongAdder counter = counters.get(userId, id -> {
+            LongAdder seeded = new LongAdder();
+            seeded.add(notificationRepository.countByRecipientIdAndIsRead(id, false));
+            return seeded;
+        });
+        return Math.max(0, counter.sum());
+    }
+
+    // Users whose counter has not been seeded yet are skipped; their first read counts from the database
+    public void add(Long userId, long delta) {
+        LongAdder counter = counters.getIfPresent(userId);
+        if (counter != null) {
+            counter.add(delta);
+        }
+    }
+
+    public void increment(Long userId) {
+        add(userId, 1);
+    }
+
+    public void decrement(Long userId) {
+        add(userId, -1);
+    }
+
+    public void evict(Long userId) {
+        counters.invalidate(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${gotyourback.notifications.unread-counter.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        List<Long> userIds = new ArrayList<>(counters.asMap().keySet());
+        int corrected = 0;
+        for (int from = 0; from < userIds.size(); from += RECONCILE_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, userIds.size()));
+            Map<Long, Long> actual = new HashMap<>();
+            notificationRepository.countUnreadByRecipientIds(chunk)
+                    .forEach(row -> actual.put(row.getRecipientId(), row.getUnreadCount()));
+
+            for (Long userId : chunk) {
+                // Quietly, so the pass itself does not keep idle counters from expiring
+                LongAdder counter = counters.policy().getIfPresentQuietly(userId);
+                long expected = actual.getOrDefault(userId, 0L);
+                if (counter != null && counter.sum() != expected) {
+                    counter.add(expected - counter.sum());
+                    corrected++;
+                }
+            }
+        }
+        if (corrected > 0) {
+            log.info("Reconciled {} drifted unread notification counters", corrected);
+        }
+    }
+}
@@ -1,20 +1,39 @@
 package com.gotyourback.service.impl;
 
+import com.gotyourback.config.CacheConfig;
+import com.gotyourback.dto.CursorPage;
+import com.gotyourback.dto.ItemDealDto;
 import com.gotyourback.dto.ItemDto;
+import com.gotyourback.dto.PageCursor;
+import com.gotyourback.exception.UnauthorizedAccessException;
 import com.gotyourback.model.Item;
 import com.gotyourback.model.Item.ItemStatus;
 import com.gotyourback.model.Item.ItemType;
 import com.gotyourback.model.User;
 import com.gotyourback.model.Notification;
+import com.gotyourback.model.Request;
+import com.gotyourback.model.Request.RequestStatus;
+import com.gotyourback.model.RequestState;
 import com.gotyourback.repository.ItemRepository;
-import com.gotyourback.repository.UserRepository;
 import com.gotyourback.repository.RequestRepository;
+import com.gotyourback.service.CatalogVersion;
+import com.gotyourback.service.CurrentUser;
+import com.gotyourback.service.ItemSearchIndex;
 import com.gotyourback.service.ItemService;
 import com.gotyourback.service.NotificationService;
+import com.gotyourback.service.ProfileStatsUpdater;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,11 +41,15 @@ import java.util.stream.Collectors;
 public class ItemServiceImpl implements ItemService {
 
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
     private final NotificationService notificationService;
     private final RequestRepository requestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ProfileStatsUpdater profileStatsUpdater;
+    private final CatalogVersion catalogVersion;
+    private final CurrentUser currentUser;
 
     @Override
+    @Transactional
     public ItemDto createItem(ItemDto itemDto) {
         // Validate required fields
         if (itemDto.getName() == null || itemDto.getName().trim().isEmpty()) {
@@ -45,8 +68,7 @@ public class ItemServiceImpl implements ItemService {
             throw new IllegalArgumentException("Owner ID is required");
         }
 
-        User owner = userRepository.findById(itemDto.getOwnerId())
-                .orElseThrow(() -> new RuntimeException("Owner not found"));
+        User owner = currentUser.actingAs(itemDto.getOwnerId(), () -> new RuntimeException("Owner not found"));
 
         Item item = new Item();
         item.setName(itemDto.getName().trim());
@@ -59,11 +81,15 @@ public class ItemServiceImpl implements ItemService {
         item.setStatus(ItemStatus.AVAILABLE);
 
         item = itemRepository.save(item);
+        profileStatsUpdater.itemCreated(owner.getId());
+        itemSearchIndex.index(item);
+        catalogVersion.bump();
         itemDto.setId(item.getId());
         return itemDto;
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.ITEM_DTOS, key = "#id")
     public ItemDto getItemById(Long id) {
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Item not found"));
@@ -72,20 +98,60 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public List<ItemDto> getAllItems(String category, ItemType type, String urgency, String keyword) {
-        List<Item> items = itemRepository.searchItems(category, type, urgency, keyword);
-        return items.stream()
+        if (keyword == null || keyword.isBlank()) {
+            return itemRepository.searchItems(category, type, urgency).stream()
+                    .map(this::convertToDto)
+                    .collect(Collectors.toList());
+        }
+
+        // Keyword searches are served by the inverted index; only the ranked hits are loaded
+        List<Long> rankedIds = itemSearchIndex.search(keyword, category, type, urgency);
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Item> itemsById = itemRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .filter(item -> item.getStatus() == ItemStatus.AVAILABLE)
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
     @Override
+    public CursorPage<ItemDto> getItemsPage(String category, ItemType type, String urgency, String keyword,
+                                           String cursor, Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        if (keyword != null && !keyword.isBlank()) {
+            // The index pages its matches by the same (createdAt, id) key; only that page is loaded
+            CursorPage<Long> idPage = itemSearchIndex.searchPage(keyword, category, type, urgency, after, pageSize);
+            Map<Long, Item> itemsById = itemRepository.findAllById(idPage.getItems()).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            List<ItemDto> items = idPage.getItems().stream()
+                    .map(itemsById::get)
+                    .filter(Objects::nonNull)
+                    .filter(item -> item.getStatus() == ItemStatus.AVAILABLE)
+                    .map(this::convertToDto)
+                    .collect(Collectors.toList());
+            return new CursorPage<>(items, idPage.getNextCursor());
+        }
+        List<Item> rows = itemRepository.searchItemsPage(category, type, urgency,
+                after != null ? after.getTimestamp() : null,
+                after != null ? after.getId() : null,
+                PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, Item::getCreatedAt, Item::getId, this::convertToDto);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ITEM_DTOS, key = "#id")
     public ItemDto updateItem(Long id, ItemDto itemDto) {
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Item not found"));
 
-        if (!item.getOwner().getId().equals(itemDto.getOwnerId())) {
-            throw new RuntimeException("Only the owner can update this item");
-        }
+        requireOwner(item, "Only the owner can update this item");
 
         item.setName(itemDto.getName());
         item.setDescription(itemDto.getDescription());
@@ -95,12 +161,14 @@ public class ItemServiceImpl implements ItemService {
         item.setImageUrl(itemDto.getImageUrl());
 
         Item savedItem = itemRepository.save(item);
+        itemSearchIndex.index(savedItem);
+        catalogVersion.bump();
         
         // Notify users who have pending/accepted requests for this item
         requestRepository.findByItem_Id(id).forEach(request -> {
             if (request.getStatus() == com.gotyourback.model.Request.RequestStatus.PENDING || 
                 request.getStatus() == com.gotyourback.model.Request.RequestStatus.ACCEPTED) {
-                notificationService.createNotification(
+                notificationService.enqueueNotification(
                     request.getRequester().getId(),
                     Notification.NotificationType.ITEM_UPDATED,
                     "Item '" + savedItem.getName() + "' has been updated by the owner",
@@ -115,15 +183,19 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ITEM_DTOS, key = "#id")
     public void deleteItem(Long id) {
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Item not found"));
+        requireOwner(item, "Only the owner can delete this item");
         
         // Notify users who have pending/accepted requests for this item
-        requestRepository.findByItem_Id(id).forEach(request -> {
+        List<Request> requests = requestRepository.findByItem_Id(id);
+        requests.forEach(request -> {
             if (request.getStatus() == com.gotyourback.model.Request.RequestStatus.PENDING || 
                 request.getStatus() == com.gotyourback.model.Request.RequestStatus.ACCEPTED) {
-                notificationService.createNotification(
+                notificationService.enqueueNotification(
                     request.getRequester().getId(),
                     Notification.NotificationType.ITEM_DELETED,
                     "Item '" + item.getName() + "' has been deleted by the owner",
@@ -134,15 +206,22 @@ public class ItemServiceImpl implements ItemService {
             }
         });
         
+        profileStatsUpdater.itemDeleted(item, requests);
         itemRepository.delete(item);
+        itemSearchIndex.remove(id);
+        catalogVersion.bump();
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.ITEM_DTOS, key = "#id")
     public void updateItemStatus(Long id, ItemStatus status) {
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Item not found"));
+        requireOwner(item, "Only the owner can change this item's status");
         item.setStatus(status);
         itemRepository.save(item);
+        itemSearchIndex.updateStatus(id, status);
+        catalogVersion.bump();
     }
 
     @Override
@@ -156,20 +235,39 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public List<ItemDto> getSoldItemsByOwnerId(Long ownerId) {
         List<Item> items = itemRepository.findSoldByOwnerId(ownerId);
+        Map<Long, ItemDealDto> deals = findFirstDealPerItem(items, RequestState.withStatus(RequestStatus.DONE));
         return items.stream()
-                .map(this::convertToSoldItemDto)
+                .map(item -> convertToSoldItemDto(item, deals.get(item.getId())))
                 .collect(Collectors.toList());
     }
     
     @Override
     public List<ItemDto> getLentItemsByOwnerId(Long ownerId) {
         List<Item> items = itemRepository.findLentByOwnerId(ownerId);
+        Map<Long, ItemDealDto> deals = findFirstDealPerItem(items,
+                RequestState.withStatus(RequestStatus.ACCEPTED, RequestStatus.DONE));
         return items.stream()
-                .map(this::convertToLentItemDto)
+                .map(item -> convertToLentItemDto(item, deals.get(item.getId())))
                 .collect(Collectors.toList());
     }
 
-    private ItemDto convertToDto(Item item) {
+    // Loads the deal for every item in one query instead of one findByItem_Id call per item
+    private void requireOwner(Item item, String message) {
+        if (!item.getOwner().getId().equals(currentUser.id())) {
+            throw new UnauthorizedAccessException(message);
+        }
+    }
+
+    private Map<Long, ItemDealDto> findFirstDealPerItem(List<Item> items, Set<RequestState> states) {
+        if (items.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        return requestRepository.findDealsByItemIds(itemIds, states).stream()
+                .collect(Collectors.toMap(ItemDealDto::getItemId, Function.identity(), (first, second) -> first));
+    }
+
+    ItemDto convertToDto(Item item) {
     ItemDto dto = new ItemDto();
     dto.setId(item.getId());
     dto.setName(item.getName());
@@ -184,41 +282,30 @@ public class ItemServiceImpl implements ItemService {
     return dto;
     }
 
-    private ItemDto convertToSoldItemDto(Item item) {
+    private ItemDto convertToSoldItemDto(Item item, ItemDealDto deal) {
         ItemDto dto = convertToDto(item);
         
-        // Find the accepted/done request for this item to get buyer information
-        requestRepository.findByItem_Id(item.getId()).stream()
-                .filter(request -> request.getStatus() == com.gotyourback.model.Request.RequestStatus.DONE)
-                .findFirst()
-                .ifPresent(request -> {
-                    dto.setBuyerName(request.getRequester().getName());
-                    dto.setBuyerEmail(request.getRequester().getEmail());
-                });
+        if (deal != null) {
+            dto.setBuyerName(deal.getRequesterName());
+            dto.setBuyerEmail(deal.getRequesterEmail());
+        }
         
         return dto;
     }
     
-    private ItemDto convertToLentItemDto(Item item) {
+    private ItemDto convertToLentItemDto(Item item, ItemDealDto deal) {
         ItemDto dto = convertToDto(item);
         dto.setStatus(item.getStatus().toString());
         
-        // Find the accepted/done request for this item to get borrower information
-        requestRepository.findByItem_Id(item.getId()).stream()
-                .filter(request -> request.getStatus() == com.gotyourback.model.Request.RequestStatus.ACCEPTED 
-                                || request.getStatus() == com.gotyourback.model.Request.RequestStatus.DONE)
-                .findFirst()
-                .ifPresent(request -> {
-                    dto.setBorrowerName(request.getRequester().getName());
-                    dto.setBorrowerEmail(request.getRequester().getEmail());
-                    dto.setLentAt(request.getLentAt());
-                    dto.setCompletedAt(request.getCompletedAt());
-                    
-                    // Check if item has been returned (both parties confirmed)
-                    Boolean borrowerConfirmed = request.getBorrowerConfirmedReturn() != null && request.getBorrowerConfirmedReturn();
-                    Boolean lenderConfirmed = request.getLenderConfirmedReturn() != null && request.getLenderConfirmedReturn();
-                    dto.setIsReturned(borrowerConfirmed && lenderConfirmed);
-                });
+        if (deal != null) {
+            dto.setBorrowerName(deal.getRequesterName());
+            dto.setBorrowerEmail(deal.getRequesterEmail());
+            dto.setLentAt(deal.getLentAt());
+            dto.setCompletedAt(deal.getCompletedAt());
+            
+            // Check if item has been returned (both parties confirmed)
+            dto.setIsReturned(deal.getState() == RequestState.COMPLETED);
+        }
         
         return dto;
     }
@@ -0,0 +1,63 @@
+package com.gotyourback.service.impl;
+
+import com.gotyourback.dto.NotificationDraft;
+import com.gotyourback.repository.NotificationOutboxRepository;
+import com.gotyourback.service.NotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Background worker that drains notification_outbox into notifications.
+ * Each batch is read, written with the same multi-row INSERT as directly
+ * created notifications and deleted from the outbox in its own transaction,
+ * so workflow requests never pay for notification writes. Recipients with an
+ * open stream get the new notifications pushed once the batch commits.
+ */
+@Component
+@Slf4j
+public class NotificationOutboxRelay {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public NotificationOutboxRelay(NotificationOutboxRepository outboxRepository,
+                                   NotificationService notificationService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${gotyourback.notifications.outbox.batch-size:500}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${gotyourback.notifications.outbox.poll-interval-ms:500}")
+    public void drain() {
+        int moved;
+        do {
+            moved = drainBatch();
+        } while (moved == batchSize);
+    }
+
+    private int drainBatch() {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Long> ids = outboxRepository.lockOldest(batchSize);
+            List<NotificationDraft> drafts = outboxRepository.findDeliverable(ids);
+            // Unread counters and stream pushes are registered to run after this transaction commits
+            notificationService.createNotifications(drafts);
+            outboxRepository.deleteByIds(ids);
+            return ids.size();
+        });
+        if (moved != null && moved > 0) {
+            log.debug("Relayed {} notifications from the outbox", moved);
+        }
+        return moved != null ? moved : 0;
+    }
+}
@@ -1,18 +1,32 @@
 package com.gotyourback.service.impl;
 
+import com.gotyourback.dto.CursorPage;
+import com.gotyourback.dto.NotificationDraft;
 import com.gotyourback.dto.NotificationDto;
+import com.gotyourback.dto.PageCursor;
 import com.gotyourback.exception.NotificationNotFoundException;
 import com.gotyourback.exception.UnauthorizedAccessException;
 import com.gotyourback.model.Notification;
+import com.gotyourback.repository.NotificationBatchRepository;
+import com.gotyourback.repository.NotificationOutboxRepository;
 import com.gotyourback.repository.NotificationRepository;
+import com.gotyourback.service.CurrentUser;
 import com.gotyourback.service.NotificationService;
+import com.gotyourback.service.NotificationStreamRegistry;
+import com.gotyourback.service.UnreadNotificationCounters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,28 +34,87 @@ import java.util.stream.Collectors;
 @Slf4j
 public class NotificationServiceImpl implements NotificationService {
 
+    // Transaction resource key for notifications queued in the current transaction
+    private static final Object PENDING_OUTBOX_KEY = new Object();
+
     private final NotificationRepository notificationRepository;
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationBatchRepository batchRepository;
+    private final NotificationStreamRegistry streamRegistry;
+    private final UnreadNotificationCounters unreadCounters;
+    private final CurrentUser currentUser;
 
     @Override
     @Transactional
     public NotificationDto createNotification(Long recipientId, Notification.NotificationType type, 
                                             String message, Long relatedItemId, Long relatedRequestId, 
                                             Long relatedMessageId) {
-        log.info("Creating notification for user {} - Type: {}, Message: {}", recipientId, type, message);
-        
-        Notification notification = new Notification();
-        notification.setRecipientId(recipientId);
-        notification.setType(type);
-        notification.setMessage(message);
-        notification.setRelatedItemId(relatedItemId);
-        notification.setRelatedRequestId(relatedRequestId);
-        notification.setRelatedMessageId(relatedMessageId);
-        notification.setIsRead(false);
-        notification.setCreatedAt(LocalDateTime.now());
-        
-        Notification saved = notificationRepository.save(notification);
-        log.info("Notification created successfully with ID: {}", saved.getId());
-        return NotificationDto.fromEntity(saved);
+        log.debug("Creating notification for user {} - Type: {}, Message: {}", recipientId, type, message);
+        return createNotifications(List.of(new NotificationDraft(recipientId, type, message,
+                relatedItemId, relatedRequestId, relatedMessageId, LocalDateTime.now()))).get(0);
+    }
+
+    @Override
+    @Transactional
+    public List<NotificationDto> createNotifications(List<NotificationDraft> drafts) {
+        if (drafts.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = batchRepository.insertAll(drafts);
+        List<NotificationDto> dtos = new ArrayList<>(drafts.size());
+        Map<Long, Long> createdPerRecipient = new LinkedHashMap<>();
+        for (int i = 0; i < drafts.size(); i++) {
+            NotificationDraft draft = drafts.get(i);
+            dtos.add(NotificationDto.fromEntity(new Notification(ids.get(i), draft.getRecipientId(), draft.getType(),
+                    draft.getMessage(), draft.getRelatedItemId(), draft.getRelatedRequestId(),
+                    draft.getRelatedMessageId(), false, draft.getCreatedAt(), null)));
+            createdPerRecipient.merge(draft.getRecipientId(), 1L, Long::sum);
+        }
+        log.debug("Created {} notifications for {} recipients", dtos.size(), createdPerRecipient.size());
+
+        // One counter update and one unread-count push per recipient, however many rows they got
+        afterCommit(() -> createdPerRecipient.forEach((recipientId, created) -> {
+            unreadCounters.add(recipientId, created);
+            if (streamRegistry.hasSubscribers(recipientId)) {
+                dtos.stream().filter(dto -> dto.getRecipientId().equals(recipientId))
+                        .forEach(streamRegistry::publishNotification);
+                streamRegistry.publishUnreadCount(recipientId, getUnreadCount(recipientId));
+            }
+        }));
+        return dtos;
+    }
+
+    @Override
+    public void enqueueNotification(Long recipientId, Notification.NotificationType type, String message,
+                                    Long relatedItemId, Long relatedRequestId, Long relatedMessageId) {
+        NotificationDraft draft = new NotificationDraft(recipientId, type, message,
+                relatedItemId, relatedRequestId, relatedMessageId, LocalDateTime.now());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outboxRepository.insertAll(List.of(draft));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<NotificationDraft> pending = (List<NotificationDraft>) TransactionSynchronizationManager
+                .getResource(PENDING_OUTBOX_KEY);
+        if (pending == null) {
+            List<NotificationDraft> drafts = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(PENDING_OUTBOX_KEY, drafts);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    outboxRepository.insertAll(drafts);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_OUTBOX_KEY);
+                }
+            });
+            pending = drafts;
+        }
+        pending.add(draft);
     }
 
     @Override
@@ -52,6 +125,18 @@ public class NotificationServiceImpl implements NotificationService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPage<NotificationDto> getNotificationsPageForUser(Long userId, String cursor, Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        List<Notification> rows = notificationRepository.findPageByRecipientId(userId,
+                after != null ? after.getTimestamp() : null,
+                after != null ? after.getId() : null,
+                PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, Notification::getCreatedAt, Notification::getId,
+                NotificationDto::fromEntity);
+    }
+
     @Override
     public List<NotificationDto> getUnreadNotificationsForUser(Long userId) {
         return notificationRepository.findByRecipientIdAndIsReadOrderByCreatedAtDesc(userId, false)
@@ -62,7 +147,7 @@ public class NotificationServiceImpl implements NotificationService {
 
     @Override
     public Long getUnreadCount(Long userId) {
-        return notificationRepository.countByRecipientIdAndIsRead(userId, false);
+        return unreadCounters.get(userId);
     }
 
     @Override
@@ -71,60 +156,99 @@ public class NotificationServiceImpl implements NotificationService {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new NotificationNotFoundException(notificationId));
         
-        notification.setIsRead(true);
-        notification.setReadAt(LocalDateTime.now());
-        
-        Notification updated = notificationRepository.save(notification);
-        return NotificationDto.fromEntity(updated);
-    }
-    
-    @Override
-    @Transactional
-    public NotificationDto markAsRead(Long notificationId, Long userId) {
-        Notification notification = notificationRepository.findById(notificationId)
-                .orElseThrow(() -> new NotificationNotFoundException(notificationId));
-        
-        if (!notification.getRecipientId().equals(userId)) {
+        if (!notification.getRecipientId().equals(currentUser.id())) {
             throw new UnauthorizedAccessException("You do not have permission to modify this notification");
         }
         
+        boolean wasUnread = !Boolean.TRUE.equals(notification.getIsRead());
         notification.setIsRead(true);
         notification.setReadAt(LocalDateTime.now());
         
         Notification updated = notificationRepository.save(notification);
+        if (wasUnread) {
+            afterCommit(() -> unreadCounters.decrement(updated.getRecipientId()));
+        }
+        publishUnreadCount(updated.getRecipientId());
         return NotificationDto.fromEntity(updated);
     }
 
     @Override
     @Transactional
-    public void markAllAsRead(Long userId) {
-        List<Notification> unreadNotifications = notificationRepository
-                .findByRecipientIdAndIsReadOrderByCreatedAtDesc(userId, false);
-        
-        unreadNotifications.forEach(notification -> {
-            notification.setIsRead(true);
-            notification.setReadAt(LocalDateTime.now());
-        });
-        
-        notificationRepository.saveAll(unreadNotifications);
+    public int markAllAsRead(Long userId) {
+        int updated = notificationRepository.markAllReadByRecipientId(userId, LocalDateTime.now());
+        onMarkedAsRead(userId, updated);
+        return updated;
     }
 
     @Override
     @Transactional
-    public void deleteNotification(Long notificationId) {
-        notificationRepository.deleteById(notificationId);
+    public int markAsReadByRequest(Long userId, Long requestId) {
+        int updated = notificationRepository.markReadByRecipientIdAndRequestId(userId, requestId, LocalDateTime.now());
+        onMarkedAsRead(userId, updated);
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int markAsReadByType(Long userId, Notification.NotificationType type) {
+        int updated = notificationRepository.markReadByRecipientIdAndType(userId, type, LocalDateTime.now());
+        onMarkedAsRead(userId, updated);
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int deleteAllForUser(Long userId) {
+        int deleted = notificationRepository.deleteByRecipientId(userId);
+        // The statement does not report how many of the deleted rows were unread, so reseed on next read
+        afterCommit(() -> unreadCounters.evict(userId));
+        publishUnreadCount(userId);
+        return deleted;
+    }
+
+    private void onMarkedAsRead(Long userId, int updated) {
+        if (updated > 0) {
+            afterCommit(() -> unreadCounters.add(userId, -updated));
+            publishUnreadCount(userId);
+        }
     }
-    
+
     @Override
     @Transactional
-    public void deleteNotification(Long notificationId, Long userId) {
+    public void deleteNotification(Long notificationId) {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new NotificationNotFoundException(notificationId));
+        Long userId = currentUser.id();
         
         if (!notification.getRecipientId().equals(userId)) {
             throw new UnauthorizedAccessException("You do not have permission to delete this notification");
         }
         
         notificationRepository.deleteById(notificationId);
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            afterCommit(() -> unreadCounters.decrement(userId));
+        }
+        publishUnreadCount(userId);
+    }
+
+    @Override
+    public void publishUnreadCount(Long userId) {
+        if (streamRegistry.hasSubscribers(userId)) {
+            afterCommit(() -> streamRegistry.publishUnreadCount(userId, getUnreadCount(userId)));
+        }
+    }
+
+    // Stream events must not announce changes that could still roll back
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
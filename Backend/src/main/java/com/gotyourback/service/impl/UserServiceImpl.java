@@ -7,11 +7,13 @@ import com.gotyourback.dto.SignupRequest;
 import com.gotyourback.dto.ProfileDto;
 import com.gotyourback.model.User;
 import com.gotyourback.repository.UserRepository;
-import com.gotyourback.repository.ItemRepository;
-import com.gotyourback.repository.RequestRepository;
+import com.gotyourback.repository.UserStatsRepository;
+import com.gotyourback.repository.UserStatsRepository.UserStats;
+import com.gotyourback.service.CatalogVersion;
 import com.gotyourback.service.UserService;
-import com.gotyourback.model.Request;
+import com.gotyourback.config.CacheConfig;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -19,8 +21,8 @@ import org.springframework.stereotype.Service;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
-    private final ItemRepository itemRepository;
-    private final RequestRepository requestRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final CatalogVersion catalogVersion;
 
     @Override
     public ApiResponse<?> register(SignupRequest request) {
@@ -64,10 +66,12 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        Long totalListings = itemRepository.countByOwnerId(userId);
-        Long activeRequests = requestRepository.countByRequesterIdAndStatusIn(userId, 
-            java.util.List.of(Request.RequestStatus.PENDING, Request.RequestStatus.ACCEPTED));
-        Long completedDeals = requestRepository.countByRequesterIdAndStatus(userId, Request.RequestStatus.DONE);
+        return toProfileDto(user);
+    }
+
+    // Counters come from the maintained user_stats row instead of COUNT queries per view
+    private ProfileDto toProfileDto(User user) {
+        UserStats stats = userStatsRepository.findByUserId(user.getId());
 
         ProfileDto profileDto = new ProfileDto();
         profileDto.setId(user.getId());
@@ -76,14 +80,18 @@ public class UserServiceImpl implements UserService {
         profileDto.setDepartment(user.getDepartment());
         profileDto.setRegistrationNumber(user.getRegistrationNumber());
         profileDto.setYearOfStudy(user.getYearOfStudy());
-        profileDto.setTotalListings(totalListings.intValue());
-        profileDto.setActiveRequests(activeRequests.intValue());
-        profileDto.setCompletedDeals(completedDeals.intValue());
+        profileDto.setTotalListings(stats.totalListings());
+        profileDto.setActiveRequests(stats.activeRequests());
+        profileDto.setCompletedDeals(stats.completedDeals());
+        profileDto.setItemsLent(stats.itemsLent());
+        profileDto.setItemsSold(stats.itemsSold());
 
         return profileDto;
     }
 
     @Override
+    // Cached item responses and catalog ETags cover the owner's name
+    @CacheEvict(cacheNames = CacheConfig.ITEM_DTOS, allEntries = true)
     public ProfileDto updateProfile(Long userId, ProfileDto profileDto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -94,6 +102,7 @@ public class UserServiceImpl implements UserService {
         user.setYearOfStudy(profileDto.getYearOfStudy());
 
         user = userRepository.save(user);
-        return getProfile(userId);
+        catalogVersion.bump();
+        return toProfileDto(user);
     }
 }
\ No newline at end of file
@@ -48,7 +48,7 @@ VALUES
 
 -- Insert sample requests
 INSERT INTO requests
-    (id, item_id, requester_id, status)
+    (id, item_id, requester_id, state)
 VALUES
     (1, 1, 2, 'PENDING'),
     -- Priya requesting Arjun's OS book
@@ -58,4 +58,20 @@ VALUES
     -- Arjun requesting Rahul's Arduino kit
     (4, 6, 5, 'REJECTED'),
     -- Aditya requesting Priya's DBMS notes
-    (5, 4, 3, 'DONE');      -- Rahul requested and completed transaction for Arjun's calculator
\ No newline at end of file
+    (5, 4, 3, 'DONE');      -- Rahul requested and completed transaction for Arjun's calculator
+
+-- Backfill profile counters from the sample items and requests
+INSERT INTO user_stats
+    (user_id, total_listings, active_requests, completed_deals, items_lent, items_sold)
+SELECT
+    u.id,
+    (SELECT COUNT(*) FROM items i WHERE i.owner_id = u.id),
+    (SELECT COUNT(*) FROM requests r WHERE r.requester_id = u.id
+        AND r.state IN ('PENDING', 'ACCEPTED', 'LENT', 'RECEIVED')),
+    (SELECT COUNT(*) FROM requests r WHERE r.requester_id = u.id
+        AND r.state IN ('DONE', 'BORROWER_RETURNED', 'LENDER_RETURNED', 'COMPLETED', 'SOLD')),
+    (SELECT COUNT(*) FROM requests r JOIN items i ON i.id = r.item_id
+        WHERE i.owner_id = u.id AND i.type = 'LEND' AND r.lent_at IS NOT NULL),
+    (SELECT COUNT(*) FROM requests r JOIN items i ON i.id = r.item_id
+        WHERE i.owner_id = u.id AND i.type = 'SELL' AND r.state IN ('SOLD', 'COMPLETED'))
+FROM users u;
@@ -55,7 +55,8 @@ CREATE TABLE items (
     INDEX idx_owner_id (owner_id),
     INDEX idx_status (status),
     INDEX idx_type (type),
-    INDEX idx_category (category)
+    INDEX idx_category (category),
+    INDEX idx_status_created (status, created_at, id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- =============================================================================
@@ -66,25 +67,24 @@ CREATE TABLE requests (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     item_id BIGINT NOT NULL,
     requester_id BIGINT NOT NULL,
-    status ENUM('PENDING', 'ACCEPTED', 'REJECTED', 'DONE') NOT NULL DEFAULT 'PENDING',
+    -- Lifecycle state, see RequestState: PENDING, REJECTED, ACCEPTED, LENT, RECEIVED,
+    -- DONE, BORROWER_RETURNED, LENDER_RETURNED, COMPLETED or SOLD
+    state VARCHAR(20) NOT NULL DEFAULT 'PENDING',
     created_at DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6),
     
-    -- Return confirmation tracking
-    borrower_confirmed_return TINYINT(1) NOT NULL DEFAULT 0,
-    lender_confirmed_return TINYINT(1) NOT NULL DEFAULT 0,
-    completed_at DATETIME(6) NULL,
-    
-    -- Lend/Receipt tracking
-    lender_marked_as_lent TINYINT(1) NOT NULL DEFAULT 0,
-    borrower_confirmed_receipt TINYINT(1) NOT NULL DEFAULT 0,
+    -- Set when the request enters LENT, RECEIVED/SOLD and COMPLETED/SOLD
     lent_at DATETIME(6) NULL,
     received_at DATETIME(6) NULL,
+    completed_at DATETIME(6) NULL,
     
     FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
     FOREIGN KEY (requester_id) REFERENCES users(id) ON DELETE CASCADE,
-    INDEX idx_item_id (item_id),
+    -- Also serves the item_id foreign key
+    INDEX idx_item_state (item_id, state),
     INDEX idx_requester_id (requester_id),
-    INDEX idx_status (status)
+    INDEX idx_state (state),
+    INDEX idx_requester_state (requester_id, state),
+    INDEX idx_requester_created (requester_id, created_at, id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- =============================================================================
@@ -101,9 +101,48 @@ CREATE TABLE messages (
     FOREIGN KEY (request_id) REFERENCES requests(id) ON DELETE CASCADE,
     FOREIGN KEY (sender_id) REFERENCES users(id) ON DELETE CASCADE,
     FOREIGN KEY (receiver_id) REFERENCES users(id) ON DELETE CASCADE,
-    INDEX idx_request_id (request_id),
+    INDEX idx_request_sent (request_id, sent_at, id),
     INDEX idx_sender_id (sender_id),
-    INDEX idx_receiver_id (receiver_id)
+    INDEX idx_receiver_id (receiver_id),
+    INDEX idx_sender_sent (sender_id, sent_at, id),
+    INDEX idx_receiver_sent (receiver_id, sent_at, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- =============================================================================
+-- TABLE: conversation_summary
+-- One row per participant of each request conversation with its last message
+-- and the participant's unread count, maintained when a message is sent.
+-- Backs the messages inbox without scanning the messages table.
+-- =============================================================================
+CREATE TABLE conversation_summary (
+    request_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    counterpart_id BIGINT NOT NULL,
+    last_message_id BIGINT NOT NULL,
+    last_sender_id BIGINT NOT NULL,
+    last_message VARCHAR(255) NOT NULL,
+    last_sent_at TIMESTAMP NOT NULL,
+    unread_count INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (request_id, user_id),
+    FOREIGN KEY (request_id) REFERENCES requests(id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (counterpart_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_user_last_sent (user_id, last_sent_at, request_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- =============================================================================
+-- TABLE: user_stats
+-- Profile counters per user, adjusted in the same transaction as the item or
+-- request change they count. A profile view reads one row by primary key.
+-- =============================================================================
+CREATE TABLE user_stats (
+    user_id BIGINT PRIMARY KEY,
+    total_listings INT NOT NULL DEFAULT 0,
+    active_requests INT NOT NULL DEFAULT 0,
+    completed_deals INT NOT NULL DEFAULT 0,
+    items_lent INT NOT NULL DEFAULT 0,
+    items_sold INT NOT NULL DEFAULT 0,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- =============================================================================
@@ -127,7 +166,25 @@ CREATE TABLE notifications (
     FOREIGN KEY (related_message_id) REFERENCES messages(id) ON DELETE SET NULL,
     INDEX idx_recipient_id (recipient_id),
     INDEX idx_is_read (is_read),
-    INDEX idx_created_at (created_at)
+    INDEX idx_created_at (created_at),
+    INDEX idx_recipient_created (recipient_id, created_at, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- =============================================================================
+-- TABLE: notification_outbox
+-- Notifications written inside business transactions, relayed to
+-- notifications in batches by a background worker. No foreign keys so
+-- appends never wait on parent rows.
+-- =============================================================================
+CREATE TABLE notification_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    recipient_id BIGINT NOT NULL,
+    notification_type VARCHAR(50) NOT NULL,
+    message TEXT NOT NULL,
+    related_item_id BIGINT,
+    related_request_id BIGINT,
+    related_message_id BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- =============================================================================
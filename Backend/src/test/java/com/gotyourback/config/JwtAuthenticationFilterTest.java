@@ -0,0 +1,117 @@
+package com.gotyourback.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gotyourback.dto.AuthenticatedUser;
+import com.gotyourback.service.JwtService;
+import com.gotyourback.service.KnownUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "filter-test-secret-filter-test-secret-0123";
+
+    private JwtService jwtService;
+    private KnownUsers knownUsers;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, Duration.ofHours(1), 100);
+        knownUsers = mock(KnownUsers.class);
+        when(knownUsers.exists(anyLong())).thenReturn(true);
+        filter = new JwtAuthenticationFilter(jwtService, knownUsers, new ObjectMapper());
+    }
+
+    @Test
+    void requestsWithoutATokenAreRejected() throws Exception {
+        MockHttpServletResponse response = run(new MockHttpServletRequest("PUT", "/api/requests/1/mark-as-lent"));
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getHeader(HttpHeaders.WWW_AUTHENTICATE)).isEqualTo("Bearer");
+    }
+
+    @Test
+    void userDataNeedsATokenEvenForReads() throws Exception {
+        assertThat(run(new MockHttpServletRequest("GET", "/api/notifications/user/1/page")).getStatus())
+                .isEqualTo(401);
+        assertThat(run(new MockHttpServletRequest("GET", "/api/items/user/1")).getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    void catalogReadsAndLoginArePublic() throws Exception {
+        for (String path : new String[]{"/api/items", "/api/items/page", "/api/items/42", "/api/images/7/thumb"}) {
+            assertThat(passesThrough(new MockHttpServletRequest("GET", path))).as(path).isTrue();
+        }
+        assertThat(passesThrough(new MockHttpServletRequest("POST", "/api/auth/login"))).isTrue();
+        assertThat(run(new MockHttpServletRequest("POST", "/api/items")).getStatus()).isEqualTo(401);
+        assertThat(run(new MockHttpServletRequest("DELETE", "/api/items/42")).getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    void corsPreflightPassesWithoutAToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("OPTIONS", "/api/requests/1/status");
+        request.addHeader(HttpHeaders.ORIGIN, "http://localhost:5500");
+        request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "PUT");
+
+        assertThat(passesThrough(request)).isTrue();
+    }
+
+    @Test
+    void validTokenExposesItsUser() throws Exception {
+        MockHttpServletRequest request = withToken(new MockHttpServletRequest("GET", "/api/dashboard/users/5/summary"),
+                jwtService.issue(5L, "Asha", "asha@srmist.edu.in"));
+
+        assertThat(passesThrough(request)).isTrue();
+        AuthenticatedUser user = (AuthenticatedUser) request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE);
+        assertThat(user.id()).isEqualTo(5L);
+    }
+
+    @Test
+    void badTokenIsRejectedEvenOnPublicPaths() throws Exception {
+        MockHttpServletResponse response = run(withToken(new MockHttpServletRequest("GET", "/api/items"), "not-a-token"));
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getHeader(HttpHeaders.WWW_AUTHENTICATE)).contains("invalid_token");
+    }
+
+    @Test
+    void tokenOfADeletedUserIsRejected() throws Exception {
+        when(knownUsers.exists(5L)).thenReturn(false);
+        MockHttpServletRequest request = withToken(new MockHttpServletRequest("PUT", "/api/requests/1/mark-as-lent"),
+                jwtService.issue(5L, "Asha", "asha@srmist.edu.in"));
+
+        MockHttpServletResponse response = run(request);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getContentAsString()).contains("no longer exists");
+    }
+
+    private static MockHttpServletRequest withToken(MockHttpServletRequest request, String token) {
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        return request;
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private boolean passesThrough(MockHttpServletRequest request) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return chain.getRequest() != null;
+    }
+}
@@ -0,0 +1,106 @@
+package com.gotyourback.service;
+
+import com.gotyourback.dto.CursorPage;
+import com.gotyourback.dto.PageCursor;
+import com.gotyourback.model.Item;
+import com.gotyourback.model.Item.ItemStatus;
+import com.gotyourback.model.Item.ItemType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSearchIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // Outside a transaction writes apply immediately; the repository is only used by rebuild()
+        index = new ItemSearchIndex(null);
+    }
+
+    @Test
+    void pagesMatchesNewestFirstAndFollowsTheCursorToTheEnd() {
+        for (long id = 1; id <= 7; id++) {
+            index.index(item(id, "Calculator " + id, START.plusMinutes(id)));
+        }
+        index.index(item(8, "Lab coat", START.plusMinutes(8)));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<Long> page = index.searchPage("calc", null, null, null, PageCursor.decode(cursor), 3);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly(7L, 6L, 5L, 4L, 3L, 2L, 1L);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void itemsCreatedAtTheSameTimeAreOrderedById() {
+        index.index(item(1, "Calculator", START));
+        index.index(item(2, "Calculator", START));
+        index.index(item(3, "Calculator", START));
+
+        CursorPage<Long> first = index.searchPage("calculator", null, null, null, null, 2);
+        CursorPage<Long> second = index.searchPage("calculator", null, null, null,
+                PageCursor.decode(first.getNextCursor()), 2);
+
+        assertThat(first.getItems()).containsExactly(3L, 2L);
+        assertThat(second.getItems()).containsExactly(1L);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void unavailableAndFilteredItemsAreLeftOut() {
+        index.index(item(1, "Calculator", START));
+        index.index(item(2, "Calculator", START.plusMinutes(1)));
+        index.index(item(3, "Calculator", START.plusMinutes(2)));
+        index.updateStatus(2L, ItemStatus.UNAVAILABLE);
+        Item sold = item(4, "Calculator", START.plusMinutes(3));
+        sold.setType(ItemType.SELL);
+        index.index(sold);
+
+        CursorPage<Long> page = index.searchPage("calculator", null, ItemType.LEND, null, null, 10);
+
+        assertThat(page.getItems()).containsExactly(3L, 1L);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void itemsWithoutACreationTimeComeLast() {
+        index.index(item(1, "Calculator", null));
+        index.index(item(2, "Calculator", START));
+
+        CursorPage<Long> first = index.searchPage("calculator", null, null, null, null, 1);
+        CursorPage<Long> second = index.searchPage("calculator", null, null, null,
+                PageCursor.decode(first.getNextCursor()), 1);
+
+        assertThat(first.getItems()).containsExactly(2L);
+        assertThat(second.getItems()).containsExactly(1L);
+    }
+
+    private static Item item(long id, String name, LocalDateTime createdAt) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription("Works fine");
+        item.setCategory("Electronics");
+        item.setType(ItemType.LEND);
+        item.setUrgency("NORMAL");
+        item.setStatus(ItemStatus.AVAILABLE);
+        item.setCreatedAt(createdAt);
+        return item;
+    }
+}
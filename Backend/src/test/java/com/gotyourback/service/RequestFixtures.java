@@ -0,0 +1,68 @@
+package com.gotyourback.service;
+
+import com.gotyourback.model.Item.ItemStatus;
+import com.gotyourback.model.Item.ItemType;
+import com.gotyourback.model.RequestState;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Inserts users, items and requests with plain JDBC, so fixtures also work outside a test transaction
+class RequestFixtures {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpleJdbcInsert users;
+    private final SimpleJdbcInsert items;
+    private final SimpleJdbcInsert requests;
+
+    RequestFixtures(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.users = new SimpleJdbcInsert(jdbcTemplate).withTableName("users").usingGeneratedKeyColumns("id");
+        this.items = new SimpleJdbcInsert(jdbcTemplate).withTableName("items").usingGeneratedKeyColumns("id");
+        this.requests = new SimpleJdbcInsert(jdbcTemplate).withTableName("requests").usingGeneratedKeyColumns("id");
+    }
+
+    long user() {
+        int n = SEQUENCE.incrementAndGet();
+        return users.executeAndReturnKey(Map.of("name", "user" + n, "email", "user" + n + "@srmist.edu.in",
+                "password", "secret")).longValue();
+    }
+
+    long item(long ownerId, ItemType type) {
+        return items.executeAndReturnKey(Map.of("name", "Item " + SEQUENCE.incrementAndGet(), "description", "Test item",
+                "category", "Books", "type", type.name(), "urgency", "NORMAL", "status", ItemStatus.AVAILABLE.name(),
+                "owner_id", ownerId, "created_at", Timestamp.valueOf(LocalDateTime.now()))).longValue();
+    }
+
+    long request(long itemId, long requesterId, RequestState state) {
+        return requests.executeAndReturnKey(Map.of("item_id", itemId, "requester_id", requesterId,
+                "state", state.name(), "created_at", Timestamp.valueOf(LocalDateTime.now()))).longValue();
+    }
+
+    RequestState state(long requestId) {
+        return RequestState.valueOf(jdbcTemplate.queryForObject(
+                "SELECT state FROM requests WHERE id = ?", String.class, requestId));
+    }
+
+    Map<String, Object> row(long requestId) {
+        return jdbcTemplate.queryForMap(
+                "SELECT state, lent_at, received_at, completed_at FROM requests WHERE id = ?", requestId);
+    }
+
+    ItemStatus itemStatus(long itemId) {
+        return ItemStatus.valueOf(jdbcTemplate.queryForObject(
+                "SELECT status FROM items WHERE id = ?", String.class, itemId));
+    }
+
+    void deleteAll() {
+        jdbcTemplate.update("DELETE FROM requests");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+}
@@ -0,0 +1,170 @@
+package com.gotyourback.service;
+
+import com.gotyourback.exception.StateTransitionConflictException;
+import com.gotyourback.model.Item.ItemStatus;
+import com.gotyourback.model.Item.ItemType;
+import com.gotyourback.model.Request.RequestStatus;
+import com.gotyourback.model.RequestState;
+import com.gotyourback.repository.ActiveDealRepository;
+import com.gotyourback.service.RequestStateMachine.Action;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two owners' clicks racing each other: each call runs in its own
+ * transaction, so exactly one conditional update may win.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({RequestService.class, RequestStateMachine.class, RequestServiceConcurrencyTest.TransitionCounter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RequestServiceConcurrencyTest {
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransitionCounter transitions;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private ItemSearchIndex itemSearchIndex;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private ProfileStatsUpdater profileStatsUpdater;
+
+    @MockitoBean
+    private ActiveDealRepository activeDealRepository;
+
+    @MockitoBean
+    private CurrentUser currentUser;
+
+    private RequestFixtures fixtures;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new RequestFixtures(jdbcTemplate);
+        executor = Executors.newFixedThreadPool(2);
+        transitions.accepted.set(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        fixtures.deleteAll();
+    }
+
+    @RepeatedTest(10)
+    void acceptingTwoRequestsForOneItemAcceptsOnlyOne() throws Exception {
+        long ownerId = fixtures.user();
+        long itemId = fixtures.item(ownerId, ItemType.LEND);
+        when(currentUser.id()).thenReturn(ownerId);
+        long first = fixtures.request(itemId, fixtures.user(), RequestState.PENDING);
+        long second = fixtures.request(itemId, fixtures.user(), RequestState.PENDING);
+
+        List<Outcome> outcomes = race(() -> accept(first), () -> accept(second));
+
+        assertThat(outcomes).containsExactlyInAnyOrder(Outcome.ACCEPTED, Outcome.CONFLICT);
+        assertThat(List.of(fixtures.state(first), fixtures.state(second)))
+                .containsExactlyInAnyOrder(RequestState.ACCEPTED, RequestState.PENDING);
+        assertThat(fixtures.itemStatus(itemId)).isEqualTo(ItemStatus.UNAVAILABLE);
+        assertThat(transitions.accepted).hasValue(1);
+    }
+
+    @RepeatedTest(10)
+    void acceptingOneRequestTwiceTransitionsItOnce() throws Exception {
+        long ownerId = fixtures.user();
+        long itemId = fixtures.item(ownerId, ItemType.LEND);
+        when(currentUser.id()).thenReturn(ownerId);
+        long requestId = fixtures.request(itemId, fixtures.user(), RequestState.PENDING);
+
+        List<Outcome> outcomes = race(() -> accept(requestId), () -> accept(requestId));
+
+        // The loser either conflicts or, if it reads after the winner committed, finds nothing to do
+        assertThat(outcomes).contains(Outcome.ACCEPTED);
+        assertThat(fixtures.state(requestId)).isEqualTo(RequestState.ACCEPTED);
+        assertThat(fixtures.itemStatus(itemId)).isEqualTo(ItemStatus.UNAVAILABLE);
+        assertThat(transitions.accepted).hasValue(1);
+    }
+
+    private Outcome accept(long requestId) {
+        try {
+            requestService.updateRequestStatus(requestId, RequestStatus.ACCEPTED);
+            return Outcome.ACCEPTED;
+        } catch (StateTransitionConflictException e) {
+            return Outcome.CONFLICT;
+        }
+    }
+
+    private List<Outcome> race(Attempt first, Attempt second) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(2);
+        List<Future<Outcome>> futures = new ArrayList<>();
+        for (Attempt attempt : List.of(first, second)) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return attempt.run();
+            }));
+        }
+        List<Outcome> outcomes = new ArrayList<>();
+        for (Future<Outcome> future : futures) {
+            outcomes.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return outcomes;
+    }
+
+    private enum Outcome { ACCEPTED, CONFLICT }
+
+    @FunctionalInterface
+    private interface Attempt {
+        Outcome run();
+    }
+
+    @TestConfiguration
+    static class TransitionCounter {
+
+        final AtomicInteger accepted = new AtomicInteger();
+
+        @EventListener
+        void onTransition(RequestTransitionEvent event) {
+            if (event.action() == Action.ACCEPT) {
+                accepted.incrementAndGet();
+            }
+        }
+    }
+}
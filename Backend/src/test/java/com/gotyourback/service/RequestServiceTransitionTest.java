@@ -0,0 +1,268 @@
+package com.gotyourback.service;
+
+import com.gotyourback.exception.StateTransitionConflictException;
+import com.gotyourback.model.Item.ItemStatus;
+import com.gotyourback.model.Item.ItemType;
+import com.gotyourback.model.Request.RequestStatus;
+import com.gotyourback.repository.ActiveDealRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.server.ResponseStatusException;
+
+import static com.gotyourback.model.RequestState.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Walks requests through RequestService: the status checks in front of the
+ * state machine, the item status changes that go with them, and the 409
+ * StateTransitionConflictException when the conditional update finds the
+ * request already moved on.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({RequestService.class, RequestStateMachine.class})
+class RequestServiceTransitionTest {
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private ItemSearchIndex itemSearchIndex;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private ProfileStatsUpdater profileStatsUpdater;
+
+    @MockitoBean
+    private ActiveDealRepository activeDealRepository;
+
+    @MockitoBean
+    private CurrentUser currentUser;
+
+    private RequestFixtures fixtures;
+    private long ownerId;
+    private long requesterId;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new RequestFixtures(jdbcTemplate);
+        ownerId = fixtures.user();
+        requesterId = fixtures.user();
+        actAs(ownerId);
+    }
+
+    // The signed-in user, as the token filter would establish it
+    private void actAs(long userId) {
+        when(currentUser.id()).thenReturn(userId);
+    }
+
+    @Test
+    void acceptClaimsTheItem() {
+        long itemId = fixtures.item(ownerId, ItemType.LEND);
+        long requestId = fixtures.request(itemId, requesterId, PENDING);
+
+        assertThat(requestService.updateRequestStatus(requestId, RequestStatus.ACCEPTED).getStatus())
+                .isEqualTo(RequestStatus.ACCEPTED);
+        assertThat(fixtures.itemStatus(itemId)).isEqualTo(ItemStatus.UNAVAILABLE);
+    }
+
+    @Test
+    void acceptingAnAcceptedRequestAgainChangesNothing() {
+        long itemId = fixtures.item(ownerId, ItemType.LEND);
+        long requestId = fixtures.request(itemId, requesterId, PENDING);
+        requestService.updateRequestStatus(requestId, RequestStatus.ACCEPTED);
+
+        assertThat(requestService.updateRequestStatus(requestId, RequestStatus.ACCEPTED).getStatus())
+                .isEqualTo(RequestStatus.ACCEPTED);
+        assertThat(fixtures.state(requestId)).isEqualTo(ACCEPTED);
+    }
+
+    @Test
+    void secondAcceptForTheSameItemConflicts() {
+        long itemId = fixtures.item(ownerId, ItemType.LEND);
+        long first = fixtures.request(itemId, requesterId, PENDING);
+        long second = fixtures.request(itemId, fixtures.user(), PENDING);
+        requestService.updateRequestStatus(first, RequestStatus.ACCEPTED);
+
+        assertThatThrownBy(() -> requestService.updateRequestStatus(second, RequestStatus.ACCEPTED))
+                .isInstanceOf(StateTransitionConflictException.class);
+        assertThat(fixtures.state(second)).isEqualTo(PENDING);
+    }
+
+    @Test
+    void rejectLeavesTheItemAvailable() {
+        long itemId = fixtures.item(ownerId, ItemType.LEND);
+        long requestId = fixtures.request(itemId, requesterId, PENDING);
+
+        requestService.updateRequestStatus(requestId, RequestStatus.REJECTED);
+
+        assertThat(fixtures.state(requestId)).isEqualTo(REJECTED);
+        assertThat(fixtures.itemStatus(itemId)).isEqualTo(ItemStatus.AVAILABLE);
+    }
+
+    @Test
+    void onlyPendingRequestsCanBeAcceptedOrRejected() {
+        long itemId = fixtures.item(ownerId, ItemType.LEND);
+        long requestId = fixtures.request(itemId, requesterId, REJECTED);
+
+        assertThatThrownBy(() -> requestService.updateRequestStatus(requestId, RequestStatus.ACCEPTED))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void onlyTheOwnerAcceptsOrRejects() {
+        long itemId = fixtures.item(ownerId, ItemType.LEND);
+        long requestId = fixtures.request(itemId, requesterId, PENDING);
+        actAs(requesterId);
+
+        assertThatThrownBy(() -> requestService.updateRequestStatus(requestId, RequestStatus.ACCEPTED))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(fixtures.state(requestId)).isEqualTo(PENDING);
+        assertThat(fixtures.itemStatus(itemId)).isEqualTo(ItemStatus.AVAILABLE);
+    }
+
+    @Test
+    void lendRunsToCompletionAndFreesTheItem() {
+        long itemId = fixtures.item(ownerId, ItemType.LEND);
+        long requestId = fixtures.request(itemId, requesterId, PENDING);
+        requestService.updateRequestStatus(requestId, RequestStatus.ACCEPTED);
+
+        assertThat(requestService.markAsLent(requestId).getLenderMarkedAsLent()).isTrue();
+        actAs(requesterId);
+        assertThat(requestService.confirmReceipt(requestId).getBorrowerConfirmedReceipt()).isTrue();
+        assertThat(fixtures.state(requestId)).isEqualTo(RECEIVED);
+
+        assertThat(requestService.markRequestAsDone(requestId).getStatus()).isEqualTo(RequestStatus.DONE);
+        assertThat(requestService.confirmReturn(requestId).getBorrowerConfirmedReturn()).isTrue();
+        assertThat(fixtures.state(requestId)).isEqualTo(BORROWER_RETURNED);
+        assertThat(fixtures.itemStatus(itemId)).isEqualTo(ItemStatus.UNAVAILABLE);
+
+        actAs(ownerId);
+        requestService.confirmReturn(requestId);
+        assertThat(fixtures.state(requestId)).isEqualTo(COMPLETED);
+        assertThat(fixtures.row(requestId).get("completed_at")).isNotNull();
+        assertThat(fixtures.itemStatus(itemId)).isEqualTo(ItemStatus.AVAILABLE);
+    }
+
+    @Test
+    void lenderConfirmingFirstAlsoCompletes() {
+        long itemId = fixtures.item(ownerId, ItemType.LEND);
+        long requestId = fixtures.request(itemId, requesterId, DONE);
+
+        requestService.confirmReturn(requestId);
+        assertThat(fixtures.state(requestId)).isEqualTo(LENDER_RETURNED);
+        actAs(requesterId);
+        requestService.confirmReturn(requestId);
+        assertThat(fixtures.state(requestId)).isEqualTo(COMPLETED);
+    }
+
+    @Test
+    void confirmingTheSameReturnTwiceConflicts() {
+        long itemId = fixtures.item(ownerId, ItemType.LEND);
+        long requestId = fixtures.request(itemId, requesterId, DONE);
+        actAs(requesterId);
+        requestService.confirmReturn(requestId);
+
+        assertThatThrownBy(() -> requestService.confirmReturn(requestId))
+                .isInstanceOf(StateTransitionConflictException.class);
+        assertThat(fixtures.state(requestId)).isEqualTo(BORROWER_RETURNED);
+    }
+
+    @Test
+    void onlyTheTwoSidesConfirmAReturn() {
+        long itemId = fixtures.item(ownerId, ItemType.LEND);
+        long requestId = fixtures.request(itemId, requesterId, DONE);
+        actAs(fixtures.user());
+
+        assertThatThrownBy(() -> requestService.confirmReturn(requestId))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(fixtures.state(requestId)).isEqualTo(DONE);
+    }
+
+    @Test
+    void markingAsLentTwiceConflicts() {
+        long itemId = fixtures.item(ownerId, ItemType.LEND);
+        long requestId = fixtures.request(itemId, requesterId, ACCEPTED);
+        requestService.markAsLent(requestId);
+
+        assertThatThrownBy(() -> requestService.markAsLent(requestId))
+                .isInstanceOf(StateTransitionConflictException.class);
+    }
+
+    @Test
+    void onlyTheOwnerMarksAsLent() {
+        long itemId = fixtures.item(ownerId, ItemType.LEND);
+        long requestId = fixtures.request(itemId, requesterId, ACCEPTED);
+        actAs(requesterId);
+
+        assertThatThrownBy(() -> requestService.markAsLent(requestId))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(fixtures.state(requestId)).isEqualTo(ACCEPTED);
+    }
+
+    @Test
+    void receiptNeedsTheItemMarkedAsLent() {
+        long itemId = fixtures.item(ownerId, ItemType.LEND);
+        long requestId = fixtures.request(itemId, requesterId, ACCEPTED);
+        actAs(requesterId);
+
+        assertThatThrownBy(() -> requestService.confirmReceipt(requestId))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void saleFinishesOnReceipt() {
+        long itemId = fixtures.item(ownerId, ItemType.SELL);
+        long requestId = fixtures.request(itemId, requesterId, PENDING);
+        requestService.updateRequestStatus(requestId, RequestStatus.ACCEPTED);
+        requestService.markAsLent(requestId);
+        actAs(requesterId);
+
+        assertThat(requestService.confirmReceipt(requestId).getStatus()).isEqualTo(RequestStatus.DONE);
+        assertThat(fixtures.state(requestId)).isEqualTo(SOLD);
+        assertThat(fixtures.itemStatus(itemId)).isEqualTo(ItemStatus.SOLD);
+    }
+
+    @Test
+    void returnOfASoldItemConflicts() {
+        long itemId = fixtures.item(ownerId, ItemType.SELL);
+        long requestId = fixtures.request(itemId, requesterId, SOLD);
+
+        actAs(requesterId);
+
+        // SOLD reports status DONE, so only the state machine can turn the return away
+        assertThatThrownBy(() -> requestService.confirmReturn(requestId))
+                .isInstanceOf(StateTransitionConflictException.class);
+        assertThat(fixtures.state(requestId)).isEqualTo(SOLD);
+    }
+}
@@ -0,0 +1,148 @@
+package com.gotyourback.service;
+
+import com.gotyourback.dto.RequestDto;
+import com.gotyourback.model.Item.ItemType;
+import com.gotyourback.model.RequestState;
+import com.gotyourback.service.RequestStateMachine.Action;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static com.gotyourback.model.RequestState.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every compiled transition against the requests table: the target
+ * state, which timestamp columns get stamped, and that an action fired from
+ * any other state touches nothing.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(RequestStateMachine.class)
+@RecordApplicationEvents
+class RequestStateMachineTest {
+
+    private static final List<String> TIMESTAMPS = List.of("lent_at", "received_at", "completed_at");
+
+    @Autowired
+    private RequestStateMachine stateMachine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private RequestFixtures fixtures;
+    private long itemId;
+    private long requesterId;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new RequestFixtures(jdbcTemplate);
+        long ownerId = fixtures.user();
+        requesterId = fixtures.user();
+        itemId = fixtures.item(ownerId, ItemType.LEND);
+    }
+
+    static Stream<Arguments> transitions() {
+        return Stream.of(
+                Arguments.of(Action.ACCEPT, PENDING, ACCEPTED, Set.of()),
+                Arguments.of(Action.REJECT, PENDING, REJECTED, Set.of()),
+                Arguments.of(Action.MARK_LENT, ACCEPTED, LENT, Set.of("lent_at")),
+                Arguments.of(Action.CONFIRM_RECEIPT, LENT, RECEIVED, Set.of("received_at")),
+                Arguments.of(Action.CONFIRM_SALE, LENT, SOLD, Set.of("received_at", "completed_at")),
+                Arguments.of(Action.MARK_DONE, ACCEPTED, DONE, Set.of()),
+                Arguments.of(Action.MARK_DONE, LENT, DONE, Set.of()),
+                Arguments.of(Action.MARK_DONE, RECEIVED, DONE, Set.of()),
+                // The first confirmation must not stamp completed_at: the CASE sees the state before the update
+                Arguments.of(Action.CONFIRM_BORROWER_RETURN, DONE, BORROWER_RETURNED, Set.of()),
+                Arguments.of(Action.CONFIRM_BORROWER_RETURN, LENDER_RETURNED, COMPLETED, Set.of("completed_at")),
+                Arguments.of(Action.CONFIRM_LENDER_RETURN, DONE, LENDER_RETURNED, Set.of()),
+                Arguments.of(Action.CONFIRM_LENDER_RETURN, BORROWER_RETURNED, COMPLETED, Set.of("completed_at")));
+    }
+
+    @ParameterizedTest(name = "{0}: {1} -> {2}")
+    @MethodSource("transitions")
+    void appliesTransition(Action action, RequestState from, RequestState to, Set<String> stamped) {
+        long requestId = fixtures.request(itemId, requesterId, from);
+
+        Optional<RequestState> result = stateMachine.fire(dto(requestId), action);
+
+        assertThat(result).contains(to);
+        Map<String, Object> row = fixtures.row(requestId);
+        assertThat(row.get("state")).isEqualTo(to.name());
+        for (String column : TIMESTAMPS) {
+            assertThat(row.get(column)).as(column).matches(value -> (value != null) == stamped.contains(column));
+        }
+        assertThat(events.stream(RequestTransitionEvent.class))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.action()).isEqualTo(action);
+                    assertThat(event.state()).isEqualTo(to);
+                    assertThat(event.request().getId()).isEqualTo(requestId);
+                });
+    }
+
+    static Stream<Arguments> rejectedTransitions() {
+        return Arrays.stream(Action.values()).flatMap(action -> Arrays.stream(RequestState.values())
+                .filter(state -> !action.sources().contains(state))
+                .map(state -> Arguments.of(action, state)));
+    }
+
+    @ParameterizedTest(name = "{0} from {1}")
+    @MethodSource("rejectedTransitions")
+    void leavesRequestsOutsideTheSourceStatesUntouched(Action action, RequestState from) {
+        long requestId = fixtures.request(itemId, requesterId, from);
+
+        assertThat(stateMachine.fire(dto(requestId), action)).isEmpty();
+
+        Map<String, Object> row = fixtures.row(requestId);
+        assertThat(row.get("state")).isEqualTo(from.name());
+        TIMESTAMPS.forEach(column -> assertThat(row.get(column)).as(column).isNull());
+        assertThat(events.stream(RequestTransitionEvent.class)).isEmpty();
+    }
+
+    @Test
+    void secondFiringOfTheSameActionFindsNothingToUpdate() {
+        long requestId = fixtures.request(itemId, requesterId, DONE);
+
+        assertThat(stateMachine.fire(dto(requestId), Action.CONFIRM_LENDER_RETURN)).contains(LENDER_RETURNED);
+        assertThat(stateMachine.fire(dto(requestId), Action.CONFIRM_LENDER_RETURN)).isEmpty();
+        assertThat(stateMachine.fire(dto(requestId), Action.CONFIRM_BORROWER_RETURN)).contains(COMPLETED);
+    }
+
+    @Test
+    void onlyUpdatesTheGivenRequest() {
+        long requestId = fixtures.request(itemId, requesterId, PENDING);
+        long otherId = fixtures.request(itemId, requesterId, PENDING);
+
+        stateMachine.fire(dto(requestId), Action.ACCEPT);
+
+        assertThat(fixtures.state(otherId)).isEqualTo(PENDING);
+    }
+
+    private static RequestDto dto(long requestId) {
+        RequestDto dto = new RequestDto();
+        dto.setId(requestId);
+        return dto;
+    }
+}
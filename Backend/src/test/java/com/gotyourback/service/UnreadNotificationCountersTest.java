@@ -0,0 +1,171 @@
+package com.gotyourback.service;
+
+import com.gotyourback.repository.NotificationRepository;
+import com.gotyourback.repository.NotificationRepository.RecipientUnreadCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UnreadNotificationCountersTest {
+
+    private static final Duration IDLE_EXPIRY = Duration.ofMinutes(30);
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final AtomicLong nanos = new AtomicLong();
+    private UnreadNotificationCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new UnreadNotificationCounters(notificationRepository, IDLE_EXPIRY, 1000, nanos::get);
+    }
+
+    @Test
+    void seedsFromTheDatabaseOnFirstReadOnly() {
+        when(notificationRepository.countByRecipientIdAndIsRead(1L, false)).thenReturn(3L);
+
+        assertThat(counters.get(1L)).isEqualTo(3);
+        assertThat(counters.get(1L)).isEqualTo(3);
+        verify(notificationRepository, times(1)).countByRecipientIdAndIsRead(1L, false);
+    }
+
+    @Test
+    void appliesIncrementsAndDecrementsAfterSeeding() {
+        when(notificationRepository.countByRecipientIdAndIsRead(1L, false)).thenReturn(2L);
+        counters.get(1L);
+
+        counters.increment(1L);
+        counters.add(1L, 3);
+        counters.decrement(1L);
+
+        assertThat(counters.get(1L)).isEqualTo(5);
+    }
+
+    @Test
+    void skipsChangesForUsersNotSeededYet() {
+        counters.increment(1L);
+        when(notificationRepository.countByRecipientIdAndIsRead(1L, false)).thenReturn(4L);
+
+        // The seed already counts the row the increment was for
+        assertThat(counters.get(1L)).isEqualTo(4);
+    }
+
+    @Test
+    void neverReportsANegativeCount() {
+        when(notificationRepository.countByRecipientIdAndIsRead(1L, false)).thenReturn(0L);
+        counters.get(1L);
+
+        counters.decrement(1L);
+
+        assertThat(counters.get(1L)).isZero();
+    }
+
+    @Test
+    void reseedsAfterEviction() {
+        when(notificationRepository.countByRecipientIdAndIsRead(1L, false)).thenReturn(5L, 1L);
+        counters.get(1L);
+
+        counters.evict(1L);
+
+        assertThat(counters.get(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void expiresIdleCountersAndReseedsThem() {
+        when(notificationRepository.countByRecipientIdAndIsRead(1L, false)).thenReturn(2L, 7L);
+        counters.get(1L);
+        counters.increment(1L);
+
+        advance(IDLE_EXPIRY.plusSeconds(1));
+
+        // Expired counters drop changes until they are read again
+        counters.increment(1L);
+        assertThat(counters.get(1L)).isEqualTo(7);
+    }
+
+    @Test
+    void keepsCountersThatAreReadWithinTheIdleExpiry() {
+        when(notificationRepository.countByRecipientIdAndIsRead(1L, false)).thenReturn(2L);
+        counters.get(1L);
+
+        advance(IDLE_EXPIRY.minusMinutes(1));
+        counters.get(1L);
+        advance(IDLE_EXPIRY.minusMinutes(1));
+
+        assertThat(counters.get(1L)).isEqualTo(2);
+        verify(notificationRepository, times(1)).countByRecipientIdAndIsRead(1L, false);
+    }
+
+    @Test
+    void reconcileCorrectsDriftedCounters() {
+        when(notificationRepository.countByRecipientIdAndIsRead(1L, false)).thenReturn(2L);
+        when(notificationRepository.countByRecipientIdAndIsRead(2L, false)).thenReturn(4L);
+        counters.get(1L);
+        counters.get(2L);
+        counters.add(1L, 5);
+        counters.add(2L, -1);
+
+        // User 2 has no unread rows left, so the query returns nothing for them
+        when(notificationRepository.countUnreadByRecipientIds(anyCollection()))
+                .thenReturn(List.of(unread(1L, 3L)));
+        counters.reconcile();
+
+        assertThat(counters.get(1L)).isEqualTo(3);
+        assertThat(counters.get(2L)).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reconcileDoesNotKeepIdleCountersAlive() {
+        when(notificationRepository.countByRecipientIdAndIsRead(1L, false)).thenReturn(2L, 9L);
+        when(notificationRepository.countUnreadByRecipientIds(anyCollection())).thenAnswer(invocation ->
+                ((Collection<Long>) invocation.getArgument(0)).stream().map(id -> unread(id, 2L)).toList());
+        counters.get(1L);
+
+        advance(IDLE_EXPIRY.minusMinutes(1));
+        counters.reconcile();
+        advance(Duration.ofMinutes(2));
+
+        assertThat(counters.get(1L)).isEqualTo(9);
+    }
+
+    @Test
+    void reconcileSkipsExpiredCounters() {
+        when(notificationRepository.countByRecipientIdAndIsRead(1L, false)).thenReturn(2L);
+        counters.get(1L);
+
+        advance(IDLE_EXPIRY.plusSeconds(1));
+        counters.reconcile();
+
+        verify(notificationRepository, times(0)).countUnreadByRecipientIds(anyCollection());
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(TimeUnit.NANOSECONDS.convert(duration));
+    }
+
+    private static RecipientUnreadCount unread(Long recipientId, Long count) {
+        return new RecipientUnreadCount() {
+            @Override
+            public Long getRecipientId() {
+                return recipientId;
+            }
+
+            @Override
+            public Long getUnreadCount() {
+                return count;
+            }
+        };
+    }
+}
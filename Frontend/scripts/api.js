@@ -3,6 +3,12 @@ import { API_CONFIG, HTTP_METHODS } from './utils/api-config.js';
 // Helper function to handle API responses
 async function handleResponse(response) {
     const data = await response.json();
+
+    // Expired or rejected token: start a fresh session
+    if (response.status === 401) {
+        localStorage.clear();
+        window.location.href = 'login.html';
+    }
     
     if (!response.ok) {
         throw new Error(data.message || 'Something went wrong');
@@ -11,9 +17,15 @@ async function handleResponse(response) {
     return data;
 }
 
+// Bearer token from login; the backend rejects everything but login, signup and catalog reads without it
+export function authHeaders() {
+    const token = localStorage.getItem('token');
+    return token ? { 'Authorization': `Bearer ${token}` } : {};
+}
+
 // Helper function to make API requests
 async function makeRequest(endpoint, method = HTTP_METHODS.GET, body = null) {
-    const headers = { 'Content-Type': 'application/json' };
+    const headers = { 'Content-Type': 'application/json', ...authHeaders() };
     const config = {
         method,
         headers,
@@ -117,6 +129,21 @@ export const api = {
 
     getReceivedRequests: (userId) => makeRequest(API_CONFIG.ENDPOINTS.RECEIVED_REQUESTS(userId)),
 
+    // Listings, requests, sold/lent items and unread count in one response
+    getDashboardSummary: (userId) => makeRequest(API_CONFIG.ENDPOINTS.DASHBOARD_SUMMARY(userId)),
+
+    // Image endpoints; the browser sets the multipart boundary itself
+    uploadImage: async (file) => {
+        const formData = new FormData();
+        formData.append('file', file);
+        const response = await fetch(`${API_CONFIG.BASE_URL}${API_CONFIG.ENDPOINTS.IMAGES}`, {
+            method: HTTP_METHODS.POST,
+            headers: authHeaders(),
+            body: formData
+        });
+        return handleResponse(response);
+    },
+
     // Request endpoints
     createRequest: async (itemId) => {
         const userStr = localStorage.getItem('user');
@@ -146,14 +173,15 @@ export const api = {
     markRequestAsDone: (requestId) => 
         makeRequest(`${API_CONFIG.ENDPOINTS.REQUESTS}/${requestId}/done`, HTTP_METHODS.PUT),
 
-    confirmReturn: (requestId, userId, isBorrower) =>
-        makeRequest(`${API_CONFIG.ENDPOINTS.REQUESTS}/${requestId}/confirm-return?userId=${userId}&isBorrower=${isBorrower}`, HTTP_METHODS.PUT),
+    // The backend works out which side of the request the logged-in user is on
+    confirmReturn: (requestId) =>
+        makeRequest(`${API_CONFIG.ENDPOINTS.REQUESTS}/${requestId}/confirm-return`, HTTP_METHODS.PUT),
 
-    markAsLent: (requestId, userId) =>
-        makeRequest(`${API_CONFIG.ENDPOINTS.REQUESTS}/${requestId}/mark-as-lent?userId=${userId}`, HTTP_METHODS.PUT),
+    markAsLent: (requestId) =>
+        makeRequest(`${API_CONFIG.ENDPOINTS.REQUESTS}/${requestId}/mark-as-lent`, HTTP_METHODS.PUT),
 
-    confirmReceipt: (requestId, userId) =>
-        makeRequest(`${API_CONFIG.ENDPOINTS.REQUESTS}/${requestId}/confirm-receipt?userId=${userId}`, HTTP_METHODS.PUT),
+    confirmReceipt: (requestId) =>
+        makeRequest(`${API_CONFIG.ENDPOINTS.REQUESTS}/${requestId}/confirm-receipt`, HTTP_METHODS.PUT),
 
     // Profile endpoints
     getProfile: (userId) => makeRequest(API_CONFIG.ENDPOINTS.PROFILE(userId)),
@@ -176,11 +204,11 @@ export const api = {
     
     getAcceptedRequests: (userId) => makeRequest(API_CONFIG.ENDPOINTS.ACCEPTED_REQUESTS(userId)),
 
-    sendMessage: async (requestId, senderId, content) => {
+    sendMessage: async (requestId, content) => {
         if (!content || !content.trim()) {
             throw new Error('Message content cannot be empty');
         }
-        return makeRequest(`${API_CONFIG.ENDPOINTS.MESSAGES}/send/${requestId}?senderId=${senderId}`, 
+        return makeRequest(`${API_CONFIG.ENDPOINTS.MESSAGES}/send/${requestId}`, 
             HTTP_METHODS.POST, content);
     },
 
@@ -1,5 +1,5 @@
 import { api } from './api.js';
-import { showAlert } from './utils.js';
+import { showAlert, thumbnailUrl } from './utils.js';
 
 document.addEventListener('DOMContentLoaded', async () => {
     // Check authentication
@@ -44,7 +44,7 @@ function displayItems(items) {
         <div class="col-md-4 mb-4">
             <div class="card h-100">
                 ${item.imageUrl ? `
-                    <img src="${item.imageUrl}" class="card-img-top" alt="${item.name}" style="height: 200px; object-fit: cover;">
+                    <img src="${thumbnailUrl(item.imageUrl)}" loading="lazy" class="card-img-top" alt="${item.name}" style="height: 200px; object-fit: cover;">
                 ` : ''}
                 <div class="card-body">
                     <h5 class="card-title">${item.name}</h5>
@@ -1,5 +1,5 @@
 import { api } from './api.js';
-import { showAlert } from './utils.js';
+import { showAlert, thumbnailUrl } from './utils.js';
 
 // Auth check
 function getUser() {
@@ -51,7 +51,7 @@ function displayUserItems(items = []) {
     container.innerHTML = items.map(item => {
         const template = document.getElementById('listingItemTemplate');
         let itemHtml = template.innerHTML
-            .replace(/{imageUrl}/g, item.imageUrl || 'assets/placeholder.png')
+            .replace(/{imageUrl}/g, thumbnailUrl(item.imageUrl) || 'assets/placeholder.png')
             .replace(/{name}/g, item.name)
             .replace(/{category}/g, item.category)
             .replace(/{type}/g, item.type)
@@ -76,7 +76,7 @@ function displaySoldItems(soldItems = []) {
     container.innerHTML = soldItems.map(item => {
         const template = document.getElementById('soldItemTemplate');
         let itemHtml = template.innerHTML
-            .replace(/{imageUrl}/g, item.imageUrl || 'assets/placeholder.png')
+            .replace(/{imageUrl}/g, thumbnailUrl(item.imageUrl) || 'assets/placeholder.png')
             .replace(/{name}/g, item.name)
             .replace(/{category}/g, item.category)
             .replace(/{description}/g, item.description)
@@ -130,7 +130,7 @@ function displayLentItems(lentItems = [], filter = 'all') {
         timeInfo += '</div>';
         
         let itemHtml = template.innerHTML
-            .replace(/{imageUrl}/g, item.imageUrl || 'assets/placeholder.png')
+            .replace(/{imageUrl}/g, thumbnailUrl(item.imageUrl) || 'assets/placeholder.png')
             .replace(/{name}/g, item.name)
             .replace(/{category}/g, item.category)
             .replace(/{description}/g, item.description)
@@ -161,7 +161,7 @@ function displayRequests(userRequests = [], receivedRequests = []) {
 
     function createRequestHtml(request, type) {
         let html = requestTemplate.innerHTML
-            .replace(/{imageUrl}/g, request.item?.imageUrl || 'assets/placeholder.png')
+            .replace(/{imageUrl}/g, thumbnailUrl(request.item?.imageUrl) || 'assets/placeholder.png')
             .replace(/{name}/g, request.item?.name)
             .replace(/{statusColor}/g, getStatusBadgeColor(request.status))
             .replace(/{status}/g, request.status)
@@ -322,7 +322,7 @@ async function confirmReturn(requestId, isBorrower) {
         const user = getUser();
         if (!user) return;
         
-        await api.confirmReturn(requestId, user.id, isBorrower);
+        await api.confirmReturn(requestId);
         showAlert(`Return ${isBorrower ? 'confirmation' : 'receipt'} recorded successfully`, 'success');
         await loadDashboardData();
     } catch (error) {
@@ -336,7 +336,7 @@ async function markAsLent(requestId) {
         const user = getUser();
         if (!user) return;
         
-        await api.markAsLent(requestId, user.id);
+        await api.markAsLent(requestId);
         showAlert('Item marked as lent successfully', 'success');
         await loadDashboardData();
     } catch (error) {
@@ -350,7 +350,7 @@ async function confirmReceipt(requestId) {
         const user = getUser();
         if (!user) return;
         
-        await api.confirmReceipt(requestId, user.id);
+        await api.confirmReceipt(requestId);
         showAlert('Receipt confirmed successfully', 'success');
         await loadDashboardData();
     } catch (error) {
@@ -396,13 +396,12 @@ async function loadDashboardData() {
         showLoading('soldItems');
         showLoading('lentItems');
 
-        const [userItems, userRequests, receivedRequests, soldItems, lentItems] = await Promise.all([
-            api.getUserItems(user.id),
-            api.getUserRequests(user.id),
-            api.getReceivedRequests(user.id),
-            api.getSoldItems(user.id),
-            api.getLentItems(user.id)
-        ]);
+        const summary = await api.getDashboardSummary(user.id);
+        const userItems = summary.items || [];
+        const userRequests = summary.sentRequests || [];
+        const receivedRequests = summary.receivedRequests || [];
+        const soldItems = summary.soldItems || [];
+        const lentItems = summary.lentItems || [];
 
         // Update stats first
         updateStats(userItems, userRequests, receivedRequests);
@@ -1,9 +1,16 @@
 import { API_CONFIG, HTTP_METHODS } from './utils/api-config.js';
 import { getUser, logout } from './utils/auth-utils.js';
+import { authHeaders } from './api.js';
 
 let currentUser = null;
 let currentRequestId = null;
 let acceptedRequests = new Map();
+let currentMessages = [];
+let olderMessagesCursor = null;
+let conversationSocket = null;
+
+// Messages fetched per "load older messages" step
+const MESSAGE_PAGE_SIZE = 50;
 
 document.addEventListener('DOMContentLoaded', async () => {
     try {
@@ -17,61 +24,73 @@ document.addEventListener('DOMContentLoaded', async () => {
         // Set user name in the navbar
         document.getElementById('userName').textContent = currentUser.name || 'User';
 
-        // Load user's messages and accepted requests
-        const [messagesResponse, requestsResponse] = await Promise.all([
-            fetch(`${API_CONFIG.BASE_URL}/messages/user/${currentUser.id}`, {
-                method: HTTP_METHODS.GET
-            }),
-            fetch(`${API_CONFIG.BASE_URL}/requests/user/${currentUser.id}/accepted`, {
-                method: HTTP_METHODS.GET
-            })
-        ]);
-        
-        if (!messagesResponse.ok || !requestsResponse.ok) {
-            throw new Error('Failed to load messages or requests');
-        }
+        await loadThreads();
 
-        const messages = await messagesResponse.json();
-        const requests = await requestsResponse.json();
+        // Setup message form
+        document.getElementById('messageForm').addEventListener('submit', handleSendMessage);
+    } catch (error) {
+        console.error('Initialization error:', error);
+        showAlert('Failed to load messages: ' + (error.message || 'Unknown error'), 'danger');
+    }
+});
 
-        // Create message threads for both existing messages and accepted requests without messages
-        const threads = new Map();
+// One thread per conversation from the inbox, plus accepted requests that have no messages yet
+async function loadThreads() {
+    const [inboxResponse, requestsResponse] = await Promise.all([
+        fetch(`${API_CONFIG.BASE_URL}/messages/user/${currentUser.id}/inbox`, {
+            method: HTTP_METHODS.GET,
+            headers: authHeaders()
+        }),
+        fetch(`${API_CONFIG.BASE_URL}/requests/user/${currentUser.id}/accepted`, {
+            method: HTTP_METHODS.GET,
+            headers: authHeaders()
+        })
+    ]);
+    
+    if (!inboxResponse.ok || !requestsResponse.ok) {
+        throw new Error('Failed to load messages or requests');
+    }
 
-        // Process existing messages first
-        messages.forEach(message => {
-            if (!threads.has(message.requestId)) {
-                threads.set(message.requestId, {
-                    requestId: message.requestId,
-                    otherUser: message.senderId === currentUser.id ? message.receiverName : message.senderName,
-                    lastMessage: message
-                });
-            }
-        });
+    const inbox = await inboxResponse.json();
+    const requests = await requestsResponse.json();
 
-        // Add accepted requests that don't have messages yet
-        requests.forEach(request => {
-            if (!threads.has(request.id)) {
-                threads.set(request.id, {
-                    requestId: request.id,
-                    otherUser: request.requesterId === currentUser.id ? request.ownerName : request.requesterName,
-                    lastMessage: null
-                });
+    const threads = new Map();
+    (inbox.data || []).forEach(conversation => {
+        threads.set(conversation.requestId, {
+            requestId: conversation.requestId,
+            otherUser: conversation.counterpartName,
+            unreadCount: conversation.unreadCount,
+            lastMessage: {
+                content: conversation.lastMessage,
+                sentAt: conversation.lastSentAt
             }
         });
+    });
+    requests.forEach(request => {
+        if (!threads.has(request.id)) {
+            threads.set(request.id, {
+                requestId: request.id,
+                otherUser: request.requesterId === currentUser.id ? request.ownerName : request.requesterName,
+                unreadCount: 0,
+                lastMessage: null
+            });
+        }
+    });
 
-        // Store accepted requests for reference
-        acceptedRequests = threads;
-
-        // Display all threads
-        displayMessageThreads(threads);
+    acceptedRequests = threads;
+    displayMessageThreads(threads);
+}
 
-        // Setup message form
-        document.getElementById('messageForm').addEventListener('submit', handleSendMessage);
-    } catch (error) {
-        console.error('Initialization error:', error);
-        showAlert('Failed to load messages: ' + (error.message || 'Unknown error'), 'danger');
+function markConversationRead(requestId) {
+    const thread = acceptedRequests.get(requestId);
+    if (thread) {
+        thread.unreadCount = 0;
     }
-});
+    fetch(`${API_CONFIG.BASE_URL}/messages/request/${requestId}/read`, {
+        method: HTTP_METHODS.PUT,
+        headers: authHeaders()
+    }).catch(error => console.error('Error marking conversation as read:', error));
+}
 
 function displayMessageThreads(threads) {
     const threadsContainer = document.getElementById('messageThreads');
@@ -84,6 +103,7 @@ function displayMessageThreads(threads) {
                     <h6 class="mb-0">
                         <i class="bi bi-person-circle me-2"></i>
                         ${thread.otherUser}
+                        ${thread.unreadCount ? `<span class="badge bg-primary rounded-pill ms-1">${thread.unreadCount}</span>` : ''}
                     </h6>
                     ${thread.lastMessage ? 
                         `<small class="text-muted">${formatDate(thread.lastMessage.sentAt)}</small>` : 
@@ -105,22 +125,58 @@ window.loadRequestMessages = async function(requestId, otherUser) {
     currentRequestId = requestId;
     
     try {
-        const response = await fetch(`${API_CONFIG.BASE_URL}/messages/request/${requestId}`, {
-            method: HTTP_METHODS.GET
-        });
-        
-        if (!response.ok) {
-            throw new Error('Failed to load messages');
+        const page = await fetchMessagePage(requestId, null);
+        currentMessages = page.data || [];
+        olderMessagesCursor = page.nextCursor || null;
+        displayMessages(currentMessages, otherUser);
+        openConversationSocket(requestId, otherUser);
+        if (acceptedRequests.get(requestId)?.unreadCount) {
+            markConversationRead(requestId);
+            displayMessageThreads(acceptedRequests);
         }
-
-        const messages = await response.json();
-        displayMessages(messages, otherUser);
     } catch (error) {
         console.error('Error loading request messages:', error);
         showAlert('Failed to load conversation: ' + (error.message || 'Unknown error'), 'danger');
     }
 }
 
+// Only the latest page is loaded up front; older pages are fetched on demand
+async function fetchMessagePage(requestId, before) {
+    const cursor = before ? `&before=${encodeURIComponent(before)}` : '';
+    const response = await fetch(
+        `${API_CONFIG.BASE_URL}/messages/request/${requestId}/page?limit=${MESSAGE_PAGE_SIZE}${cursor}`, {
+        method: HTTP_METHODS.GET,
+        headers: authHeaders()
+    });
+    
+    if (!response.ok) {
+        throw new Error('Failed to load messages');
+    }
+    return response.json();
+}
+
+window.loadOlderMessages = async function() {
+    const requestId = currentRequestId;
+    if (!olderMessagesCursor || !requestId) return;
+    
+    try {
+        const page = await fetchMessagePage(requestId, olderMessagesCursor);
+        if (requestId !== currentRequestId) return;
+        
+        const messageList = document.getElementById('messageList');
+        const previousHeight = messageList.scrollHeight;
+        currentMessages = [...currentMessages, ...(page.data || [])];
+        olderMessagesCursor = page.nextCursor || null;
+        const thread = acceptedRequests.get(requestId);
+        displayMessages(currentMessages, thread ? thread.otherUser : '');
+        // Keep the view on the message that was at the top before loading
+        messageList.scrollTop = messageList.scrollHeight - previousHeight;
+    } catch (error) {
+        console.error('Error loading older messages:', error);
+        showAlert('Failed to load older messages: ' + (error.message || 'Unknown error'), 'danger');
+    }
+}
+
 function displayMessages(messages, otherUser) {
     document.getElementById('threadHeader').textContent = `Conversation with ${otherUser}`;
     document.getElementById('messageForm').classList.remove('d-none');
@@ -140,7 +196,11 @@ function displayMessages(messages, otherUser) {
             new Date(a.sentAt) - new Date(b.sentAt)
         );
         
-        messageList.innerHTML = sortedMessages.map(message => `
+        const loadOlder = olderMessagesCursor ? `
+            <div class="text-center mb-2">
+                <button type="button" class="btn btn-link btn-sm" onclick="window.loadOlderMessages()">Load older messages</button>
+            </div>` : '';
+        messageList.innerHTML = loadOlder + sortedMessages.map(message => `
             <div class="message-bubble ${message.senderId === currentUser.id ? 'sent' : 'received'}">
                 <div class="message-content">${message.content.trim()}</div><div class="message-time">${formatDate(message.sentAt)}</div>
             </div>
@@ -151,6 +211,53 @@ function displayMessages(messages, otherUser) {
     messageList.scrollTop = messageList.scrollHeight;
 }
 
+// Live updates for the open conversation; sends go over the socket while it is connected
+function openConversationSocket(requestId, otherUser) {
+    if (conversationSocket) {
+        conversationSocket.onclose = null;
+        conversationSocket.close();
+        conversationSocket = null;
+    }
+    if (typeof WebSocket === 'undefined') return;
+
+    const socketBase = API_CONFIG.BASE_URL.replace(/^http/, 'ws').replace(/\/api$/, '');
+    // Browsers cannot set headers on a WebSocket, so the token travels as an offered subprotocol
+    const socket = new WebSocket(`${socketBase}/ws/requests/${requestId}/messages`,
+        ['access_token', localStorage.getItem('token')]);
+    socket.onmessage = (event) => {
+        const data = JSON.parse(event.data);
+        if (data.success === false) {
+            showAlert('Failed to send message: ' + (data.message || 'Unknown error'), 'danger');
+            return;
+        }
+        if (data.requestId === currentRequestId && !currentMessages.some(message => message.id === data.id)) {
+            currentMessages.push(data);
+            displayMessages(currentMessages, otherUser);
+            // The conversation is open, so a message from the other side is read right away
+            if (data.senderId !== currentUser.id) {
+                markConversationRead(data.requestId);
+            }
+        }
+        const thread = acceptedRequests.get(data.requestId);
+        if (thread) {
+            thread.lastMessage = data;
+            displayMessageThreads(acceptedRequests);
+        }
+    };
+    // Reconnect after a dropped connection while the conversation is still open
+    socket.onclose = () => {
+        if (conversationSocket === socket) {
+            conversationSocket = null;
+            setTimeout(() => {
+                if (currentRequestId === requestId && !conversationSocket) {
+                    openConversationSocket(requestId, otherUser);
+                }
+            }, 3000);
+        }
+    };
+    conversationSocket = socket;
+}
+
 async function handleSendMessage(event) {
     event.preventDefault();
     
@@ -159,11 +266,18 @@ async function handleSendMessage(event) {
     
     if (!content || !currentRequestId) return;
     
+    if (conversationSocket && conversationSocket.readyState === WebSocket.OPEN) {
+        conversationSocket.send(content);
+        messageInput.value = '';
+        return;
+    }
+    
     try {
-        const response = await fetch(`${API_CONFIG.BASE_URL}/messages/send/${currentRequestId}?senderId=${currentUser.id}`, {
+        const response = await fetch(`${API_CONFIG.BASE_URL}/messages/send/${currentRequestId}`, {
             method: HTTP_METHODS.POST,
             headers: {
-                'Content-Type': 'text/plain'
+                'Content-Type': 'text/plain',
+                ...authHeaders()
             },
             body: content
         });
@@ -179,44 +293,7 @@ async function handleSendMessage(event) {
             await loadRequestMessages(currentRequestId, thread.otherUser);
         }
         // Refresh threads list
-        const [messagesResponse, requestsResponse] = await Promise.all([
-            fetch(`${API_CONFIG.BASE_URL}/messages/user/${currentUser.id}`, {
-                method: HTTP_METHODS.GET
-            }),
-            fetch(`${API_CONFIG.BASE_URL}/requests/user/${currentUser.id}/accepted`, {
-                method: HTTP_METHODS.GET
-            })
-        ]);
-        
-        if (!messagesResponse.ok || !requestsResponse.ok) {
-            throw new Error('Failed to refresh message list');
-        }
-
-        const messages = await messagesResponse.json();
-        const requests = await requestsResponse.json();
-        
-        // Create message threads for both existing messages and accepted requests without messages
-        const threads = new Map();
-        messages.forEach(message => {
-            if (!threads.has(message.requestId)) {
-                threads.set(message.requestId, {
-                    requestId: message.requestId,
-                    otherUser: message.senderId === currentUser.id ? message.receiverName : message.senderName,
-                    lastMessage: message
-                });
-            }
-        });
-        requests.forEach(request => {
-            if (!threads.has(request.id)) {
-                threads.set(request.id, {
-                    requestId: request.id,
-                    otherUser: request.requesterId === currentUser.id ? request.ownerName : request.requesterName,
-                    lastMessage: null
-                });
-            }
-        });
-        acceptedRequests = threads;
-        displayMessageThreads(threads);
+        await loadThreads();
     } catch (error) {
         console.error('Error sending message:', error);
         showAlert('Failed to send message: ' + (error.message || 'Unknown error'), 'danger');
@@ -1,14 +1,30 @@
 // Notification management
 const API_BASE_URL = 'http://localhost:8080/api';
 
-// Fetch notifications for a user
-async function fetchNotifications(userId) {
+const NOTIFICATION_PAGE_SIZE = 50;
+
+// How long to wait before reopening a dropped notification stream
+const STREAM_RETRY_MS = 5000;
+
+// Every notification endpoint needs the login token
+function notificationHeaders() {
+    const token = localStorage.getItem('token');
+    return {
+        'Content-Type': 'application/json',
+        ...(token && { 'Authorization': `Bearer ${token}` })
+    };
+}
+
+// Cursor for the next older page of the dropdown; null once everything is loaded
+let notificationsCursor = null;
+
+// Fetch one page of notifications for a user, newest first; a null cursor fetches the latest page
+async function fetchNotifications(userId, cursor = null) {
     try {
-        const response = await fetch(`${API_BASE_URL}/notifications/user/${userId}`, {
+        const cursorParam = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+        const response = await fetch(`${API_BASE_URL}/notifications/user/${userId}/page?limit=${NOTIFICATION_PAGE_SIZE}${cursorParam}`, {
             method: 'GET',
-            headers: {
-                'Content-Type': 'application/json'
-            }
+            headers: notificationHeaders()
         });
 
         if (!response.ok) {
@@ -16,10 +32,10 @@ async function fetchNotifications(userId) {
         }
 
         const result = await response.json();
-        return result.data || [];
+        return { items: result.data || [], nextCursor: result.nextCursor || null };
     } catch (error) {
         console.error('Error fetching notifications:', error);
-        return [];
+        return { items: [], nextCursor: null };
     }
 }
 
@@ -28,9 +44,7 @@ async function fetchUnreadCount(userId) {
     try {
         const response = await fetch(`${API_BASE_URL}/notifications/user/${userId}/unread-count`, {
             method: 'GET',
-            headers: {
-                'Content-Type': 'application/json'
-            }
+            headers: notificationHeaders()
         });
 
         if (!response.ok) {
@@ -48,17 +62,9 @@ async function fetchUnreadCount(userId) {
 // Mark notification as read
 async function markNotificationAsRead(notificationId) {
     try {
-        const userId = localStorage.getItem('userId');
-        if (!userId) {
-            console.error('User ID not found');
-            return false;
-        }
-        
-        const response = await fetch(`${API_BASE_URL}/notifications/${notificationId}/read?userId=${userId}`, {
+        const response = await fetch(`${API_BASE_URL}/notifications/${notificationId}/read`, {
             method: 'PUT',
-            headers: {
-                'Content-Type': 'application/json'
-            }
+            headers: notificationHeaders()
         });
 
         if (!response.ok) {
@@ -77,9 +83,7 @@ async function markAllAsRead(userId) {
     try {
         const response = await fetch(`${API_BASE_URL}/notifications/user/${userId}/read-all`, {
             method: 'PUT',
-            headers: {
-                'Content-Type': 'application/json'
-            }
+            headers: notificationHeaders()
         });
 
         if (!response.ok) {
@@ -96,17 +100,9 @@ async function markAllAsRead(userId) {
 // Delete notification
 async function deleteNotification(notificationId) {
     try {
-        const userId = localStorage.getItem('userId');
-        if (!userId) {
-            console.error('User ID not found');
-            return false;
-        }
-        
-        const response = await fetch(`${API_BASE_URL}/notifications/${notificationId}?userId=${userId}`, {
+        const response = await fetch(`${API_BASE_URL}/notifications/${notificationId}`, {
             method: 'DELETE',
-            headers: {
-                'Content-Type': 'application/json'
-            }
+            headers: notificationHeaders()
         });
 
         if (!response.ok) {
@@ -126,6 +122,11 @@ async function updateNotificationBadge() {
     if (!userId) return;
 
     const count = await fetchUnreadCount(userId);
+    renderNotificationBadge(count);
+}
+
+// Render an unread count into the badge
+function renderNotificationBadge(count) {
     const badge = document.getElementById('notification-badge');
     
     if (badge) {
@@ -138,74 +139,106 @@ async function updateNotificationBadge() {
     }
 }
 
-// Load and display notifications
+// Load and display the latest page of notifications
 async function loadNotifications() {
     const userId = localStorage.getItem('userId');
     if (!userId) return;
 
-    const notifications = await fetchNotifications(userId);
+    const page = await fetchNotifications(userId);
     const notificationList = document.getElementById('notification-list');
     
     if (!notificationList) return;
 
-    if (notifications.length === 0) {
+    notificationsCursor = page.nextCursor;
+    if (page.items.length === 0) {
         notificationList.innerHTML = '<div class="notification-item empty">No notifications</div>';
         return;
     }
 
     // Clear existing notifications
     notificationList.innerHTML = '';
-    
-    // Create notification elements safely using DOM methods
+    appendNotifications(notificationList, page.items);
+}
+
+// Fetch the next older page and add it below the ones already shown
+async function loadOlderNotifications() {
+    const userId = localStorage.getItem('userId');
+    const notificationList = document.getElementById('notification-list');
+    if (!userId || !notificationList || !notificationsCursor) return;
+
+    const page = await fetchNotifications(userId, notificationsCursor);
+    notificationsCursor = page.nextCursor;
+    appendNotifications(notificationList, page.items);
+}
+
+function appendNotifications(notificationList, notifications) {
+    const existingLoadMore = notificationList.querySelector('.notification-item.load-more');
+    if (existingLoadMore) existingLoadMore.remove();
+
     notifications.forEach(notification => {
-        const notificationItem = document.createElement('div');
-        notificationItem.className = `notification-item ${notification.isRead ? 'read' : 'unread'}`;
-        notificationItem.setAttribute('data-id', String(notification.id || ''));
-        
-        const iconDiv = document.createElement('div');
-        iconDiv.className = 'notification-icon';
-        const icon = document.createElement('i');
-        icon.className = `fas ${getNotificationIcon(notification.type)}`;
-        iconDiv.appendChild(icon);
-        
-        const contentDiv = document.createElement('div');
-        contentDiv.className = 'notification-content';
-        
-        const messageP = document.createElement('p');
-        messageP.className = 'notification-message';
-        messageP.textContent = notification.message; // Safe text content
-        
-        const timeSmall = document.createElement('small');
-        timeSmall.className = 'notification-time';
-        timeSmall.textContent = formatTime(notification.createdAt);
-        
-        contentDiv.appendChild(messageP);
-        contentDiv.appendChild(timeSmall);
-        
-        const deleteBtn = document.createElement('button');
-        deleteBtn.className = 'notification-delete';
-        deleteBtn.onclick = (e) => {
-            e.stopPropagation();
-            handleDeleteNotification(notification.id);
-        };
-        const deleteIcon = document.createElement('i');
-        deleteIcon.className = 'fas fa-times';
-        deleteBtn.appendChild(deleteIcon);
-        
-        notificationItem.appendChild(iconDiv);
-        notificationItem.appendChild(contentDiv);
-        notificationItem.appendChild(deleteBtn);
-        
-        notificationList.appendChild(notificationItem);
+        // A pushed notification may already be at the top of the list
+        if (notificationList.querySelector(`.notification-item[data-id="${notification.id}"]`)) return;
+        notificationList.appendChild(createNotificationElement(notification));
     });
 
-    // Add click handlers to mark as read
-    document.querySelectorAll('.notification-item.unread').forEach(item => {
-        item.addEventListener('click', async function(e) {
+    if (notificationsCursor) {
+        const loadMore = document.createElement('div');
+        loadMore.className = 'notification-item load-more';
+        loadMore.textContent = 'Load older notifications';
+        loadMore.addEventListener('click', (e) => {
+            e.stopPropagation();
+            loadOlderNotifications();
+        });
+        notificationList.appendChild(loadMore);
+    }
+}
+
+// Build one dropdown entry safely using DOM methods
+function createNotificationElement(notification) {
+    const notificationItem = document.createElement('div');
+    notificationItem.className = `notification-item ${notification.isRead ? 'read' : 'unread'}`;
+    notificationItem.setAttribute('data-id', String(notification.id || ''));
+    
+    const iconDiv = document.createElement('div');
+    iconDiv.className = 'notification-icon';
+    const icon = document.createElement('i');
+    icon.className = `fas ${getNotificationIcon(notification.type)}`;
+    iconDiv.appendChild(icon);
+    
+    const contentDiv = document.createElement('div');
+    contentDiv.className = 'notification-content';
+    
+    const messageP = document.createElement('p');
+    messageP.className = 'notification-message';
+    messageP.textContent = notification.message; // Safe text content
+    
+    const timeSmall = document.createElement('small');
+    timeSmall.className = 'notification-time';
+    timeSmall.textContent = formatTime(notification.createdAt);
+    
+    contentDiv.appendChild(messageP);
+    contentDiv.appendChild(timeSmall);
+    
+    const deleteBtn = document.createElement('button');
+    deleteBtn.className = 'notification-delete';
+    deleteBtn.onclick = (e) => {
+        e.stopPropagation();
+        handleDeleteNotification(notification.id);
+    };
+    const deleteIcon = document.createElement('i');
+    deleteIcon.className = 'fas fa-times';
+    deleteBtn.appendChild(deleteIcon);
+    
+    notificationItem.appendChild(iconDiv);
+    notificationItem.appendChild(contentDiv);
+    notificationItem.appendChild(deleteBtn);
+
+    // Mark as read on click
+    if (!notification.isRead) {
+        notificationItem.addEventListener('click', async function(e) {
             if (e.target.closest('.notification-delete')) return;
             
-            const notificationId = this.dataset.id;
-            const success = await markNotificationAsRead(notificationId);
+            const success = await markNotificationAsRead(this.dataset.id);
             
             if (success) {
                 this.classList.remove('unread');
@@ -213,7 +246,19 @@ async function loadNotifications() {
                 await updateNotificationBadge();
             }
         });
-    });
+    }
+    return notificationItem;
+}
+
+// Put a pushed notification at the top of the dropdown list
+function renderPushedNotification(notification) {
+    const notificationList = document.getElementById('notification-list');
+    if (!notificationList) return;
+    if (notificationList.querySelector(`.notification-item[data-id="${notification.id}"]`)) return;
+
+    const empty = notificationList.querySelector('.notification-item.empty');
+    if (empty) empty.remove();
+    notificationList.prepend(createNotificationElement(notification));
 }
 
 // Handle delete notification
@@ -282,12 +327,75 @@ function toggleNotificationDropdown() {
     }
 }
 
+// Subscribe to live notification events; falls back to polling without streaming fetch support.
+// EventSource cannot send the Authorization header, so the stream is read through fetch
+function subscribeToNotificationStream() {
+    const userId = localStorage.getItem('userId');
+    if (!userId || !localStorage.getItem('token')) return;
+
+    if (typeof ReadableStream === 'undefined' || typeof TextDecoder === 'undefined') {
+        updateNotificationBadge();
+        setInterval(updateNotificationBadge, 30000);
+        return;
+    }
+
+    openNotificationStream(userId);
+}
+
+// The server sends the current unread count as soon as the stream opens
+async function openNotificationStream(userId) {
+    try {
+        const response = await fetch(`${API_BASE_URL}/notifications/user/${userId}/stream`, {
+            headers: { ...notificationHeaders(), 'Accept': 'text/event-stream' }
+        });
+        // A rejected token will not get better by retrying
+        if (response.status === 401 || response.status === 403) return;
+        if (!response.ok || !response.body) throw new Error('Notification stream unavailable');
+
+        const reader = response.body.getReader();
+        const decoder = new TextDecoder();
+        let buffer = '';
+        for (;;) {
+            const { value, done } = await reader.read();
+            if (done) break;
+            buffer += decoder.decode(value, { stream: true }).replace(/\r\n?/g, '\n');
+            let boundary;
+            while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+                dispatchStreamEvent(buffer.slice(0, boundary));
+                buffer = buffer.slice(boundary + 2);
+            }
+        }
+    } catch (error) {
+        console.error('Notification stream dropped:', error);
+    }
+    // Streams time out on the server and drop with the network; reopen like EventSource would
+    setTimeout(() => openNotificationStream(userId), STREAM_RETRY_MS);
+}
+
+// Parse one server-sent event block; comment lines (keep-alives) carry no event
+function dispatchStreamEvent(block) {
+    let name = 'message';
+    const data = [];
+    block.split('\n').forEach(line => {
+        if (line.startsWith('event:')) {
+            name = line.slice(6).trim();
+        } else if (line.startsWith('data:')) {
+            data.push(line.slice(5).replace(/^ /, ''));
+        }
+    });
+    if (data.length === 0) return;
+
+    const payload = data.join('\n');
+    if (name === 'unread-count') {
+        renderNotificationBadge(Number(payload) || 0);
+    } else if (name === 'notification') {
+        renderPushedNotification(JSON.parse(payload));
+    }
+}
+
 // Initialize notifications
 function initNotifications() {
-    updateNotificationBadge();
-    
-    // Update badge every 30 seconds
-    setInterval(updateNotificationBadge, 30000);
+    subscribeToNotificationStream();
     
     // Close dropdown when clicking outside
     document.addEventListener('click', function(e) {
@@ -40,6 +40,8 @@ async function loadProfile() {
         document.getElementById('totalListings').textContent = response.totalListings || 0;
         document.getElementById('activeRequests').textContent = response.activeRequests || 0;
         document.getElementById('completedDeals').textContent = response.completedDeals || 0;
+        document.getElementById('itemsLent').textContent = response.itemsLent || 0;
+        document.getElementById('itemsSold').textContent = response.itemsSold || 0;
     } catch (error) {
         console.error('Error loading profile:', error);
         showAlert(error.message || 'Failed to load profile data', 'danger');
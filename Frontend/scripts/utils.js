@@ -19,4 +19,9 @@ export function showAlert(message, type) {
             setTimeout(() => alertElement.remove(), 300);
         }
     }, 5000);
-}
\ No newline at end of file
+}
+
+// Uploaded images have a small variant for cards and lists; external URLs are used as given
+export function thumbnailUrl(imageUrl) {
+    return imageUrl && imageUrl.includes('/api/images/') ? `${imageUrl}/thumb` : imageUrl;
+}
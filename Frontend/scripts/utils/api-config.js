@@ -4,11 +4,13 @@ const API_CONFIG = {
         SIGNUP: '/auth/signup',
         LOGIN: '/auth/login',
         ITEMS: '/items',
+        IMAGES: '/images',
         USER_ITEMS: (userId) => `/items/user/${userId}`,
         USER_SOLD_ITEMS: (userId) => `/items/user/${userId}/sold`,
         USER_LENT_ITEMS: (userId) => `/items/user/${userId}/lent`,
         USER_REQUESTS: (userId) => `/requests/user/${userId}`,
         RECEIVED_REQUESTS: (userId) => `/requests/received/${userId}`,
+        DASHBOARD_SUMMARY: (userId) => `/dashboard/users/${userId}/summary`,
         REQUESTS: '/requests',
         PROFILE: (userId) => `/users/${userId}/profile`,
         MESSAGES: '/messages',